@@ -0,0 +1,106 @@
+package com.budgetcaddie.benchmark;
+
+import com.budgetcaddie.categorization.MerchantRule;
+import com.budgetcaddie.categorization.MerchantRuleSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rule lookup over a page of raw transaction names: the compiled automaton against a per-rule
+ * {@code contains} scan and a single regex alternation. {@code extraRules} pads the shipped rule
+ * file with synthetic user overrides to show how each approach scales with the rule count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CategorizationBenchmark {
+
+    private static final int NAMES = 500;
+
+    @Param({ "0", "1000" })
+    public int extraRules;
+
+    private List<MerchantRule> rules;
+    private MerchantRuleSet ruleSet;
+    private Pattern alternation;
+    private String[] names;
+
+    @Setup
+    public void setUp() throws Exception {
+        try (InputStream in = CategorizationBenchmark.class.getResourceAsStream("/categorization/merchant-rules.csv")) {
+            rules = new ArrayList<>(MerchantRuleSet.parseCsv(in));
+        }
+        for (int i = 0; i < extraRules; i++) {
+            rules.add(new MerchantRule("local shop " + i, "Local Shop " + i, "GENERAL_MERCHANDISE", null));
+        }
+        ruleSet = MerchantRuleSet.compile(rules);
+
+        // Longest alternatives first, so the regex also prefers the longest pattern at a position
+        List<String> quoted = new ArrayList<>();
+        rules.stream().map(MerchantRule::pattern).sorted((a, b) -> b.length() - a.length())
+                .forEach(p -> quoted.add(Pattern.quote(p)));
+        alternation = Pattern.compile(String.join("|", quoted), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+        Random random = new Random(42);
+        names = new String[NAMES];
+        for (int i = 0; i < NAMES; i++) {
+            // About half the names hit a rule, the rest look like unknown card descriptors
+            String core = random.nextBoolean()
+                    ? rules.get(random.nextInt(rules.size())).pattern().toUpperCase(Locale.ROOT)
+                    : "POS PURCHASE " + random.nextInt(100_000);
+            names[i] = "SQ *" + core + " #" + random.nextInt(10_000) + " TORONTO ON";
+        }
+    }
+
+    @Benchmark
+    public void automaton(Blackhole bh) {
+        for (String name : names) {
+            bh.consume(ruleSet.find(name));
+        }
+    }
+
+    @Benchmark
+    public void containsPerRule(Blackhole bh) {
+        for (String name : names) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            MerchantRule best = null;
+            for (MerchantRule rule : rules) {
+                if (lower.contains(rule.pattern()) && (best == null || rule.pattern().length() > best.pattern().length())) {
+                    best = rule;
+                }
+            }
+            bh.consume(best);
+        }
+    }
+
+    @Benchmark
+    public void regexAlternation(Blackhole bh) {
+        for (String name : names) {
+            Matcher m = alternation.matcher(name);
+            bh.consume(m.find() ? m.group() : null);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.budgetcaddie.benchmark;
+
+import com.budgetcaddie.security.JwtUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and validation. {@code validateTokenVerified} runs with the verified-token cache
+ * disabled, so it pays the full HMAC check every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil verifyingJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = new JwtUtil();
+        verifyingJwtUtil = new JwtUtil(0, 0);
+        token = cachingJwtUtil.generateToken("bench-user");
+        cachingJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtil.generateToken("bench-user");
+    }
+
+    @Benchmark
+    public boolean validateTokenCached() {
+        return cachingJwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenVerified() {
+        return verifyingJwtUtil.validateToken(token);
+    }
+}
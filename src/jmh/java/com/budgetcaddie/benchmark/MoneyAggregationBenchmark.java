@@ -0,0 +1,143 @@
+package com.budgetcaddie.benchmark;
+
+import com.budgetcaddie.money.MoneyAggregation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Total, per-category and per-month sums over a transaction history: rows holding a boxed
+ * {@code Double} amount summed into {@code Map<..., Double>} (the old model) vs minor-unit
+ * {@code long[]} columns summed by {@link MoneyAggregation} into preallocated arrays.
+ *
+ * Run with {@code -prof gc} to see the boxed variants allocate per row and the long variants not
+ * at all.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyAggregationBenchmark {
+
+    private static final int CATEGORIES = 40;
+    private static final int MONTHS = 36;
+    private static final YearMonth FIRST_MONTH = YearMonth.of(2022, 1);
+
+    private record BoxedRow(Double amount, String category, YearMonth month) {
+    }
+
+    @Param({ "10000", "1000000" })
+    public int rows;
+
+    private List<BoxedRow> boxed;
+    private String[] categoryNames;
+
+    private long[] amounts;
+    private int[] categoryIds;
+    private int[] epochMonths;
+    private int firstEpochMonth;
+
+    private long[] categoryTotals;
+    private long[] categoryCounts;
+    private long[] monthTotals;
+    private long[] monthCounts;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        categoryNames = new String[CATEGORIES];
+        for (int c = 0; c < CATEGORIES; c++) {
+            categoryNames[c] = "CATEGORY_" + c;
+        }
+
+        boxed = new ArrayList<>(rows);
+        amounts = new long[rows];
+        categoryIds = new int[rows];
+        epochMonths = new int[rows];
+        firstEpochMonth = MoneyAggregation.epochMonth(FIRST_MONTH);
+        for (int i = 0; i < rows; i++) {
+            long cents = random.nextLong(-50_000, 250_000);
+            int category = random.nextInt(CATEGORIES);
+            LocalDate date = FIRST_MONTH.atDay(1).plusDays(random.nextInt(MONTHS * 30));
+
+            boxed.add(new BoxedRow(cents / 100.0, categoryNames[category], YearMonth.from(date)));
+            amounts[i] = cents;
+            categoryIds[i] = category;
+            epochMonths[i] = MoneyAggregation.epochMonth(date);
+        }
+
+        categoryTotals = new long[CATEGORIES];
+        categoryCounts = new long[CATEGORIES];
+        monthTotals = new long[MONTHS + 1];
+        monthCounts = new long[MONTHS + 1];
+    }
+
+    @Benchmark
+    public double totalBoxed() {
+        double total = 0;
+        for (BoxedRow row : boxed) {
+            total += row.amount();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long totalMinor() {
+        return MoneyAggregation.sum(amounts, rows);
+    }
+
+    @Benchmark
+    public Map<String, Double> byCategoryBoxed() {
+        Map<String, Double> totals = new HashMap<>();
+        for (BoxedRow row : boxed) {
+            totals.merge(row.category(), row.amount(), Double::sum);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public long[] byCategoryMinor() {
+        Arrays.fill(categoryTotals, 0);
+        Arrays.fill(categoryCounts, 0);
+        MoneyAggregation.sumByKey(amounts, categoryIds, rows, categoryTotals, categoryCounts);
+        return categoryTotals;
+    }
+
+    @Benchmark
+    public Map<YearMonth, Double> byMonthBoxed() {
+        Map<YearMonth, Double> totals = new HashMap<>();
+        for (BoxedRow row : boxed) {
+            totals.merge(row.month(), row.amount(), Double::sum);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public long[] byMonthMinor() {
+        Arrays.fill(monthTotals, 0);
+        Arrays.fill(monthCounts, 0);
+        MoneyAggregation.sumByPeriod(amounts, epochMonths, rows, firstEpochMonth, monthTotals, monthCounts);
+        return monthTotals;
+    }
+}
@@ -0,0 +1,81 @@
+package com.budgetcaddie.benchmark;
+
+import com.budgetcaddie.model.Transaction;
+import com.budgetcaddie.money.Money;
+import com.budgetcaddie.plaid.PlaidTransactionParser;
+import com.budgetcaddie.plaid.SyncPage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plaid sync page to {@link Transaction} mapping: the original String -> JsonNode tree path vs
+ * the streaming parser used by syncTransactions. Run with {@code -prof gc} for allocation per page.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaidPageParsingBenchmark {
+
+    @Param({ "100", "500" })
+    public int pageSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PlaidTransactionParser parser;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        parser = new PlaidTransactionParser(objectMapper);
+        body = SyntheticPlaidPages.syncPage(pageSize).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<Transaction> treeParse() throws IOException {
+        JsonNode root = objectMapper.readTree(new String(body, StandardCharsets.UTF_8));
+        List<Transaction> added = new ArrayList<>();
+        for (JsonNode t : root.path("added")) {
+            Transaction tx = new Transaction();
+            tx.setPlaidTransactionId(t.path("transaction_id").asText());
+            tx.setAccountId(t.path("account_id").asText());
+            tx.setAmountMinor(Money.toMinor(t.path("amount").decimalValue(),
+                    t.path("iso_currency_code").asText(null)));
+            tx.setName(t.path("name").asText());
+            JsonNode cat = t.path("personal_finance_category");
+            tx.setCategory(cat.path("primary").asText(null));
+            tx.setSubcategory(cat.path("detailed").asText(null));
+            tx.setDate(LocalDate.parse(t.path("date").asText()));
+            tx.setCurrencyCode(t.path("iso_currency_code").asText(null));
+            tx.setMerchantName(t.path("merchant_name").asText(null));
+            added.add(tx);
+        }
+        return added;
+    }
+
+    @Benchmark
+    public SyncPage streamingParse() throws IOException {
+        return parser.parsePage(new ByteArrayInputStream(body));
+    }
+}
@@ -0,0 +1,30 @@
+package com.budgetcaddie.benchmark;
+
+/**
+ * Plaid-shaped /transactions/sync pages for the parsing benchmarks.
+ */
+final class SyntheticPlaidPages {
+
+    private SyntheticPlaidPages() {
+    }
+
+    static String syncPage(int rows) {
+        StringBuilder json = new StringBuilder("{\"added\": [");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"transaction_id\": \"tx-").append(i)
+                    .append("\", \"account_id\": \"acct-").append(i % 3)
+                    .append("\", \"amount\": ").append(10 + i % 90).append(".25")
+                    .append(", \"name\": \"Merchant ").append(i)
+                    .append("\", \"date\": \"2024-03-").append(String.format("%02d", 1 + i % 28))
+                    .append("\", \"iso_currency_code\": \"USD\", \"merchant_name\": \"Merchant\"")
+                    .append(", \"location\": {\"address\": null, \"city\": \"Toronto\", \"region\": \"ON\"}")
+                    .append(", \"personal_finance_category\": {\"primary\": \"GENERAL_MERCHANDISE\",")
+                    .append(" \"detailed\": \"GENERAL_MERCHANDISE_OTHER\", \"confidence_level\": \"HIGH\"}}");
+        }
+        return json.append("], \"modified\": [], \"removed\": [], \"next_cursor\": \"c\", \"has_more\": false}")
+                .toString();
+    }
+}
@@ -0,0 +1,102 @@
+package com.budgetcaddie.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dedupe of one 500-row sync page against plaid_transaction_id: one EXISTS query per row (the
+ * old existsByPlaidTransactionId loop) vs the single IN lookup the ingestion service issues.
+ *
+ * Runs against the local Postgres from DB_URL / DB_USERNAME / DB_PASSWORD, in a scratch table
+ * that is dropped afterwards.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionDedupeBenchmark {
+
+    private static final int STORED_ROWS = 100_000;
+    private static final int PAGE_SIZE = 500;
+
+    private JdbcTemplate jdbcTemplate;
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+    private List<String> pageIds;
+
+    @Setup
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                env("DB_URL", "jdbc:postgresql://localhost:5432/budgetcaddie_db"),
+                env("DB_USERNAME", "postgres"),
+                env("DB_PASSWORD", ""));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_transactions");
+        jdbcTemplate.execute("CREATE TABLE bench_transactions (id bigserial PRIMARY KEY, "
+                + "plaid_transaction_id varchar(255) NOT NULL UNIQUE)");
+        List<Object[]> rows = new ArrayList<>(STORED_ROWS);
+        for (int i = 0; i < STORED_ROWS; i++) {
+            rows.add(new Object[] { "tx-" + i });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bench_transactions (plaid_transaction_id) VALUES (?)", rows);
+        jdbcTemplate.execute("ANALYZE bench_transactions");
+
+        // Half already stored, half new, like a page that overlaps the last sync
+        pageIds = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            pageIds.add(i % 2 == 0 ? "tx-" + ThreadLocalRandom.current().nextInt(STORED_ROWS) : "new-" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_transactions");
+    }
+
+    @Benchmark
+    public int existsPerRow() {
+        int existing = 0;
+        for (String id : pageIds) {
+            Boolean exists = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM bench_transactions WHERE plaid_transaction_id = ?)",
+                    Boolean.class, id);
+            if (Boolean.TRUE.equals(exists)) {
+                existing++;
+            }
+        }
+        return existing;
+    }
+
+    @Benchmark
+    public int singleInLookup() {
+        return namedJdbcTemplate.queryForList(
+                "SELECT plaid_transaction_id FROM bench_transactions WHERE plaid_transaction_id IN (:ids)",
+                Map.of("ids", pageIds), String.class).size();
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isEmpty() ? fallback : value;
+    }
+}
@@ -2,8 +2,10 @@ package com.budgetcaddie;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = "com.budgetcaddie")
+@EnableScheduling
 public class BudgetcaddieApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,34 @@
+package com.budgetcaddie.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dense int ids for strings, in first-seen order. Filled while a snapshot is built and only
+ * read afterwards. {@code null} is a value like any other.
+ */
+final class StringDictionary {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    int encode(String value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+    String value(int id) {
+        return values.get(id);
+    }
+
+    int size() {
+        return values.size();
+    }
+}
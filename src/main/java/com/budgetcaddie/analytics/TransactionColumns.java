@@ -0,0 +1,340 @@
+package com.budgetcaddie.analytics;
+
+import com.budgetcaddie.model.Transaction;
+import com.budgetcaddie.money.Money;
+import com.budgetcaddie.money.MoneyAggregation;
+import com.budgetcaddie.payload.CategoryTotal;
+import com.budgetcaddie.payload.MerchantSpend;
+import com.budgetcaddie.payload.MonthOverMonth;
+import com.budgetcaddie.repository.CategorySpendRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * One user's dated transactions as primitive columns, sorted by date: epoch days as {@code int},
+ * amounts as {@code long} minor units, and category, merchant and currency as dictionary ids.
+ *
+ * A date range is a binary search to a contiguous slice of rows, and every query is one
+ * {@link MoneyAggregation#sumByKey} pass over that slice. The group keys are folded with the
+ * currency id so amounts in different currencies are never added together. Slices of at least
+ * {@code parallelThreshold} rows are split across the common fork-join pool.
+ *
+ * Instances are immutable; {@link #apply} returns a new one, so readers never lock.
+ */
+public final class TransactionColumns {
+
+    private final int size;
+    private final String[] ids;
+    private final int[] epochDays;
+    private final long[] amounts;
+    private final int[] categoryIds;
+    private final int[] merchantIds;
+    private final int[] currencyIds;
+
+    private final StringDictionary categories;
+    private final StringDictionary merchants;
+    private final StringDictionary currencies;
+
+    // id * currencies + currency, and (month - firstMonth) * currencies + currency
+    private final int[] categoryKeys;
+    private final int[] merchantKeys;
+    private final int[] monthKeys;
+    private final int firstMonth;
+    private final int monthCount;
+
+    private final int parallelThreshold;
+
+    private TransactionColumns(Builder builder, long[] order) {
+        this.size = order.length;
+        this.ids = new String[size];
+        this.epochDays = new int[size];
+        this.amounts = new long[size];
+        this.categoryIds = new int[size];
+        this.merchantIds = new int[size];
+        this.currencyIds = new int[size];
+        for (int i = 0; i < size; i++) {
+            int row = (int) order[i];
+            ids[i] = builder.ids[row];
+            epochDays[i] = builder.epochDays[row];
+            amounts[i] = builder.amounts[row];
+            categoryIds[i] = builder.categoryIds[row];
+            merchantIds[i] = builder.merchantIds[row];
+            currencyIds[i] = builder.currencyIds[row];
+        }
+        this.categories = builder.categories;
+        this.merchants = builder.merchants;
+        this.currencies = builder.currencies;
+        this.parallelThreshold = builder.parallelThreshold;
+
+        int currencyCount = currencyCount();
+        this.firstMonth = size == 0 ? 0 : MoneyAggregation.epochMonth(LocalDate.ofEpochDay(epochDays[0]));
+        this.monthCount = size == 0 ? 0
+                : MoneyAggregation.epochMonth(LocalDate.ofEpochDay(epochDays[size - 1])) - firstMonth + 1;
+        this.categoryKeys = new int[size];
+        this.merchantKeys = new int[size];
+        this.monthKeys = new int[size];
+        int month = firstMonth;
+        int monthEndDay = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            if (epochDays[i] >= monthEndDay) {
+                LocalDate date = LocalDate.ofEpochDay(epochDays[i]);
+                month = MoneyAggregation.epochMonth(date);
+                monthEndDay = (int) date.withDayOfMonth(1).plusMonths(1).toEpochDay();
+            }
+            categoryKeys[i] = categoryIds[i] * currencyCount + currencyIds[i];
+            merchantKeys[i] = merchantIds[i] * currencyCount + currencyIds[i];
+            monthKeys[i] = (month - firstMonth) * currencyCount + currencyIds[i];
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Net amount and count per category over [{@code from}, {@code to}] (either may be null for
+     * open-ended), largest total first.
+     */
+    public List<CategoryTotal> totalsByCategory(LocalDate from, LocalDate to) {
+        int currencyCount = currencyCount();
+        long[] totals = new long[categories.size() * currencyCount];
+        long[] counts = new long[totals.length];
+        aggregate(categoryKeys, start(from), end(to), totals, counts);
+
+        List<CategoryTotal> result = new ArrayList<>();
+        for (int key = 0; key < totals.length; key++) {
+            if (counts[key] > 0) {
+                String currency = currencies.value(key % currencyCount);
+                result.add(new CategoryTotal(categories.value(key / currencyCount), currency,
+                        Money.toDecimal(totals[key], currency), counts[key]));
+            }
+        }
+        result.sort(Comparator.comparing(CategoryTotal::total).reversed());
+        return result;
+    }
+
+    /**
+     * The {@code limit} merchants with the highest net amount over [{@code from}, {@code to}].
+     */
+    public List<MerchantSpend> topMerchants(LocalDate from, LocalDate to, int limit) {
+        int currencyCount = currencyCount();
+        long[] totals = new long[merchants.size() * currencyCount];
+        long[] counts = new long[totals.length];
+        aggregate(merchantKeys, start(from), end(to), totals, counts);
+
+        return IntStream.range(0, totals.length)
+                .filter(key -> counts[key] > 0)
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer key) -> totals[key]).reversed())
+                .limit(limit)
+                .map(key -> {
+                    String currency = currencies.value(key % currencyCount);
+                    return new MerchantSpend(merchants.value(key / currencyCount), currency,
+                            Money.toDecimal(totals[key], currency), counts[key]);
+                })
+                .toList();
+    }
+
+    /**
+     * Net amount per month and currency over [{@code from}, {@code to}], oldest first, with the
+     * change from the month before. The first month of the range has no change; a month with no
+     * rows counts as zero for the month after it.
+     */
+    public List<MonthOverMonth> monthly(LocalDate from, LocalDate to) {
+        int lo = start(from);
+        int hi = end(to);
+        if (lo >= hi) {
+            return List.of();
+        }
+        int currencyCount = currencyCount();
+        long[] totals = new long[monthCount * currencyCount];
+        long[] counts = new long[totals.length];
+        aggregate(monthKeys, lo, hi, totals, counts);
+
+        int rangeFirstMonth = from != null ? MoneyAggregation.epochMonth(from) : firstMonth;
+        int lastIndex = monthKeys[hi - 1] / currencyCount;
+        List<MonthOverMonth> result = new ArrayList<>();
+        for (int m = monthKeys[lo] / currencyCount; m <= lastIndex; m++) {
+            boolean hasPrevious = firstMonth + m > rangeFirstMonth;
+            for (int c = 0; c < currencyCount; c++) {
+                int key = m * currencyCount + c;
+                if (counts[key] == 0) {
+                    continue;
+                }
+                String currency = currencies.value(c);
+                long previous = m > 0 ? totals[key - currencyCount] : 0;
+                BigDecimal change = hasPrevious ? Money.toDecimal(totals[key] - previous, currency) : null;
+                result.add(new MonthOverMonth(MoneyAggregation.fromEpochMonth(firstMonth + m), currency,
+                        Money.toDecimal(totals[key], currency), counts[key], change));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A copy with one committed sync page applied: rows in {@code previous} (old versions of
+     * modified and removed rows) are dropped and rows in {@code current} are added. Applying the
+     * same page twice gives the same result.
+     */
+    public TransactionColumns apply(Collection<Transaction> previous, Collection<Transaction> current) {
+        Set<String> replaced = new HashSet<>();
+        previous.forEach(tx -> replaced.add(tx.getPlaidTransactionId()));
+        current.forEach(tx -> replaced.add(tx.getPlaidTransactionId()));
+
+        Builder builder = new Builder(parallelThreshold, size + current.size());
+        for (int i = 0; i < size; i++) {
+            if (!replaced.contains(ids[i])) {
+                builder.add(ids[i], epochDays[i], amounts[i], currencies.value(currencyIds[i]),
+                        categories.value(categoryIds[i]), merchants.value(merchantIds[i]));
+            }
+        }
+        current.forEach(builder::add);
+        return builder.build();
+    }
+
+    private int currencyCount() {
+        return Math.max(1, currencies.size());
+    }
+
+    private int start(LocalDate from) {
+        return from == null ? 0 : lowerBound((int) from.toEpochDay());
+    }
+
+    private int end(LocalDate to) {
+        return to == null ? size : lowerBound((int) to.toEpochDay() + 1);
+    }
+
+    // First row dated on or after epochDay
+    private int lowerBound(int epochDay) {
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (epochDays[mid] < epochDay) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private void aggregate(int[] keys, int lo, int hi, long[] totals, long[] counts) {
+        int rows = hi - lo;
+        if (rows < parallelThreshold) {
+            if (rows > 0) {
+                MoneyAggregation.sumByKey(amounts, keys, lo, hi, totals, counts);
+            }
+            return;
+        }
+        // Each chunk sums into its own arrays; the partials are merged afterwards
+        int chunks = Math.max(2, ForkJoinPool.getCommonPoolParallelism());
+        int chunkSize = (rows + chunks - 1) / chunks;
+        List<long[][]> partials = IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> {
+                    int from = lo + c * chunkSize;
+                    int to = Math.min(hi, from + chunkSize);
+                    long[] chunkTotals = new long[totals.length];
+                    long[] chunkCounts = new long[counts.length];
+                    if (from < to) {
+                        MoneyAggregation.sumByKey(amounts, keys, from, to, chunkTotals, chunkCounts);
+                    }
+                    return new long[][] { chunkTotals, chunkCounts };
+                })
+                .toList();
+        for (long[][] partial : partials) {
+            for (int k = 0; k < totals.length; k++) {
+                totals[k] += partial[0][k];
+                counts[k] += partial[1][k];
+            }
+        }
+    }
+
+    /**
+     * Collects rows in any order; {@link #build} sorts them by date.
+     */
+    public static final class Builder {
+
+        private final int parallelThreshold;
+        private final StringDictionary categories = new StringDictionary();
+        private final StringDictionary merchants = new StringDictionary();
+        private final StringDictionary currencies = new StringDictionary();
+
+        private int size;
+        private String[] ids;
+        private int[] epochDays;
+        private long[] amounts;
+        private int[] categoryIds;
+        private int[] merchantIds;
+        private int[] currencyIds;
+
+        public Builder(int parallelThreshold, int expectedRows) {
+            this.parallelThreshold = parallelThreshold;
+            int capacity = Math.max(16, expectedRows);
+            ids = new String[capacity];
+            epochDays = new int[capacity];
+            amounts = new long[capacity];
+            categoryIds = new int[capacity];
+            merchantIds = new int[capacity];
+            currencyIds = new int[capacity];
+        }
+
+        /**
+         * Adds a stored transaction; rows without a date are left out, as in the rollups.
+         */
+        public Builder add(Transaction tx) {
+            if (tx.getDate() != null) {
+                add(tx.getPlaidTransactionId(), (int) tx.getDate().toEpochDay(), tx.getAmountMinor(),
+                        tx.getCurrencyCode(),
+                        tx.getCategory() != null ? tx.getCategory() : CategorySpendRepository.UNCATEGORIZED,
+                        tx.getMerchantName() != null ? tx.getMerchantName() : tx.getName());
+            }
+            return this;
+        }
+
+        public Builder add(String id, int epochDay, long amountMinor, String currencyCode, String category,
+                String merchant) {
+            if (size == ids.length) {
+                grow();
+            }
+            ids[size] = id;
+            epochDays[size] = epochDay;
+            amounts[size] = amountMinor;
+            currencyIds[size] = currencies.encode(currencyCode);
+            categoryIds[size] = categories.encode(category);
+            merchantIds[size] = merchants.encode(merchant);
+            size++;
+            return this;
+        }
+
+        public TransactionColumns build() {
+            // Date in the high half, row in the low half: one primitive sort orders the rows
+            long[] order = new long[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = ((long) epochDays[i] << 32) | i;
+            }
+            Arrays.sort(order);
+            return new TransactionColumns(this, order);
+        }
+
+        private void grow() {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            categoryIds = Arrays.copyOf(categoryIds, capacity);
+            merchantIds = Arrays.copyOf(merchantIds, capacity);
+            currencyIds = Arrays.copyOf(currencyIds, capacity);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.budgetcaddie.analytics;
+
+import com.budgetcaddie.repository.CategorySpendRepository;
+import com.budgetcaddie.service.TransactionsChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user {@link TransactionColumns} for the analytics endpoints.
+ *
+ * A user's snapshot is loaded from the transactions table on first use and then kept current
+ * by applying each committed sync page to it, so it is never reloaded while it stays in memory.
+ * Snapshots are held by soft references: under heap pressure the GC drops them (least recently
+ * used first) and the next request loads again.
+ */
+@Service
+public class TransactionSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionSnapshotService.class);
+
+    private static final String LOAD_SQL = """
+            SELECT plaid_transaction_id, date, amount_minor, currency_code,
+                   COALESCE(category, ?) AS category, COALESCE(merchant_name, name) AS merchant
+            FROM transactions
+            WHERE user_id = ? AND date IS NOT NULL
+            """;
+
+    private static final class SnapshotRef extends SoftReference<TransactionColumns> {
+        private final Long userId;
+
+        SnapshotRef(Long userId, TransactionColumns columns, ReferenceQueue<TransactionColumns> queue) {
+            super(columns, queue);
+            this.userId = userId;
+        }
+    }
+
+    @Value("${analytics.snapshot.parallel-threshold:250000}")
+    private int parallelThreshold;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Long, SnapshotRef> snapshots = new ConcurrentHashMap<>();
+    private final ReferenceQueue<TransactionColumns> cleared = new ReferenceQueue<>();
+    private final Map<Long, CompletableFuture<TransactionColumns>> loading = new ConcurrentHashMap<>();
+    // Bumped after every committed change; a load that overlapped one is served but not kept
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    private Counter hits;
+    private Counter loads;
+    private Timer loadTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("analytics.snapshots", snapshots,
+                        s -> s.values().stream().filter(ref -> !ref.refersTo(null)).count())
+                .description("Per-user transaction snapshots currently held in memory")
+                .register(meterRegistry);
+        hits = requests("hit");
+        loads = requests("load");
+        loadTimer = Timer.builder("analytics.snapshot.load")
+                .description("Time to load a user's transaction snapshot from the database")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The user's current snapshot, loading it if it is not in memory. Concurrent callers for the
+     * same user share one load.
+     */
+    public TransactionColumns snapshot(Long userId) {
+        purgeCleared();
+        TransactionColumns columns = cached(userId);
+        if (columns != null) {
+            hits.increment();
+            return columns;
+        }
+
+        CompletableFuture<TransactionColumns> load = new CompletableFuture<>();
+        CompletableFuture<TransactionColumns> running = loading.putIfAbsent(userId, load);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            // Another caller may have finished its load between our miss and putIfAbsent
+            columns = cached(userId);
+            if (columns == null) {
+                loads.increment();
+                columns = loadTimer.record(() -> load(userId));
+            }
+            load.complete(columns);
+            return columns;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(userId, load);
+        }
+    }
+
+    /**
+     * Applies a committed sync page to the user's snapshot if one is in memory. Applying replaces
+     * rows by id, so a load that already saw these rows is not double counted.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        versions.merge(event.userId(), 1L, Long::sum);
+        snapshots.computeIfPresent(event.userId(), (id, ref) -> {
+            TransactionColumns columns = ref.get();
+            return columns == null ? null
+                    : new SnapshotRef(id, columns.apply(event.previous(), event.current()), cleared);
+        });
+    }
+
+    private TransactionColumns cached(Long userId) {
+        SnapshotRef ref = snapshots.get(userId);
+        return ref != null ? ref.get() : null;
+    }
+
+    private TransactionColumns load(Long userId) {
+        long version = versions.getOrDefault(userId, 0L);
+        TransactionColumns.Builder builder = new TransactionColumns.Builder(parallelThreshold, 1024);
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            builder.add(rs.getString(1), (int) rs.getObject(2, LocalDate.class).toEpochDay(),
+                    rs.getLong(3), rs.getString(4), rs.getString(5), rs.getString(6));
+        }, CategorySpendRepository.UNCATEGORIZED, userId);
+        TransactionColumns columns = builder.build();
+
+        snapshots.compute(userId, (id, existing) -> versions.getOrDefault(id, 0L) == version
+                ? new SnapshotRef(id, columns, cleared)
+                : existing);
+        logger.debug("Loaded analytics snapshot for user {}: {} rows", userId, columns.size());
+        return columns;
+    }
+
+    private void purgeCleared() {
+        Reference<? extends TransactionColumns> ref;
+        while ((ref = cleared.poll()) != null) {
+            snapshots.remove(((SnapshotRef) ref).userId, ref);
+        }
+    }
+
+    private Counter requests(String result) {
+        return Counter.builder("analytics.snapshot.requests")
+                .tag("result", result)
+                .description("Analytics snapshot lookups, served from memory or loaded")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,73 @@
+package com.budgetcaddie.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU with a TTL, held in this JVM.
+ *
+ * Each user has a generation number that is part of every key. Evicting a user bumps the
+ * generation, which makes all of the user's entries unreachable in O(1); they age out of the
+ * LRU like any other cold entry. A loader reads the generation before it queries, so a result
+ * computed from pre-sync data can never be stored under the post-sync generation.
+ */
+public class InProcessUserScopedCache implements UserScopedCache {
+
+    private record Key(Long userId, long generation, String key) {
+    }
+
+    private record Entry(Object value, long expiresAtMillis) {
+    }
+
+    private final long ttlMillis;
+    private final Map<Key, Entry> entries;
+    private final ConcurrentHashMap<Long, Long> generations = new ConcurrentHashMap<>();
+
+    public InProcessUserScopedCache(int maxEntries, long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long userId, String key, Supplier<T> loader) {
+        Key cacheKey = new Key(userId, generations.getOrDefault(userId, 0L), key);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(cacheKey);
+            if (entry != null) {
+                if (now < entry.expiresAtMillis()) {
+                    return (T) entry.value();
+                }
+                entries.remove(cacheKey);
+            }
+        }
+
+        // Loaded outside the lock; two concurrent misses may both query, which is harmless
+        T value = loader.get();
+        if (value != null && ttlMillis > 0) {
+            synchronized (entries) {
+                entries.put(cacheKey, new Entry(value, System.currentTimeMillis() + ttlMillis));
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void evictUser(Long userId) {
+        generations.merge(userId, 1L, Long::sum);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.budgetcaddie.cache;
+
+import com.budgetcaddie.service.TransactionsChangedEvent;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Drops a user's cached reads once a sync page that changed their rows has committed. Evicting
+ * after commit (not before) means a read racing the sync cannot re-cache the old data.
+ */
+@Component
+public class UserCacheInvalidator {
+
+    @Autowired
+    private UserScopedCache cache;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        cache.evictUser(event.userId());
+    }
+}
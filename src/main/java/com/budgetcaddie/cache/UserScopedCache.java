@@ -0,0 +1,24 @@
+package com.budgetcaddie.cache;
+
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for per-user query results.
+ *
+ * Every entry belongs to one user, and {@link #evictUser} drops all of that user's entries at
+ * once; callers never have to enumerate keys. The default implementation is in-process
+ * ({@link InProcessUserScopedCache}); a shared cache can replace it by declaring its own bean.
+ */
+public interface UserScopedCache {
+
+    /**
+     * The cached value for {@code key}, or the result of {@code loader} (which is then cached).
+     * Null results and exceptions from the loader are not cached.
+     */
+    <T> T get(Long userId, String key, Supplier<T> loader);
+
+    /**
+     * Invalidates every entry of the user. Values being loaded concurrently are not stored.
+     */
+    void evictUser(Long userId);
+}
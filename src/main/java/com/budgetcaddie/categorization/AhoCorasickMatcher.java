@@ -0,0 +1,247 @@
+package com.budgetcaddie.categorization;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Case-insensitive multi-pattern substring matcher compiled to a flat DFA.
+ *
+ * Patterns are built into an Aho-Corasick trie whose failure links are folded into a full
+ * transition table, so scanning a string is one array lookup per character: no backtracking,
+ * no per-call allocation, and the cost does not grow with the number of patterns. Characters
+ * that occur in no pattern send the automaton back to the root.
+ *
+ * In whole-word mode a pattern only counts where it is not glued to letters or digits on either
+ * side, so "uber" matches "UBER *TRIP" but not "HUBER AUTO". The check applies only at pattern
+ * ends that are themselves a letter or digit: "apple.com/" may still be followed by anything.
+ *
+ * Instances are immutable and safe to share between threads.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int NO_MATCH = -1;
+
+    // ASCII characters map through a table; the rest by binary search over the sorted extras
+    private final int[] asciiSymbols;
+    private final char[] otherChars;
+    private final int[] otherSymbols;
+    private final int alphabetSize;
+
+    // delta[state * alphabetSize + symbol] = next state
+    private final int[] delta;
+    // Best pattern ending at this state, including via the suffix chain, or NO_MATCH
+    private final int[] output;
+    private final int[] patternLengths;
+
+    // Whole-word mode only: the pattern ending exactly at a state, and the next shorter suffix
+    // state that ends a pattern (or NO_MATCH), so every pattern ending here can be checked
+    private final boolean wholeWords;
+    private final int[] terminal;
+    private final int[] dictionaryLink;
+    private final boolean[] wordStart;
+    private final boolean[] wordEnd;
+
+    private AhoCorasickMatcher(int[] asciiSymbols, char[] otherChars, int[] otherSymbols, int alphabetSize,
+            int[] delta, int[] output, int[] patternLengths, boolean wholeWords, int[] terminal,
+            int[] dictionaryLink, boolean[] wordStart, boolean[] wordEnd) {
+        this.asciiSymbols = asciiSymbols;
+        this.otherChars = otherChars;
+        this.otherSymbols = otherSymbols;
+        this.alphabetSize = alphabetSize;
+        this.delta = delta;
+        this.output = output;
+        this.patternLengths = patternLengths;
+        this.wholeWords = wholeWords;
+        this.terminal = terminal;
+        this.dictionaryLink = dictionaryLink;
+        this.wordStart = wordStart;
+        this.wordEnd = wordEnd;
+    }
+
+    /**
+     * Compiles the patterns; a pattern's id is its index in the list. Blank patterns never match.
+     */
+    public static AhoCorasickMatcher compile(List<String> patterns) {
+        return compile(patterns, false);
+    }
+
+    /**
+     * Like {@link #compile(List)}; with {@code wholeWords} a pattern must not continue a word of
+     * the text on either side.
+     */
+    public static AhoCorasickMatcher compile(List<String> patterns, boolean wholeWords) {
+        // Alphabet: every distinct (lower-cased) character used by a pattern
+        int[] asciiSymbols = new int[128];
+        Arrays.fill(asciiSymbols, NO_MATCH);
+        List<Character> others = new ArrayList<>();
+        int alphabetSize = 0;
+        for (String pattern : patterns) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = fold(pattern.charAt(i));
+                if (c < 128) {
+                    if (asciiSymbols[c] == NO_MATCH) {
+                        asciiSymbols[c] = alphabetSize++;
+                    }
+                } else if (!others.contains(c)) {
+                    others.add(c);
+                }
+            }
+        }
+        others.sort(null);
+        char[] otherChars = new char[others.size()];
+        int[] otherSymbols = new int[others.size()];
+        for (int i = 0; i < otherChars.length; i++) {
+            otherChars[i] = others.get(i);
+            otherSymbols[i] = alphabetSize++;
+        }
+        int width = Math.max(alphabetSize, 1);
+
+        // Trie, grown as rows of the transition table
+        List<int[]> gotoRows = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        gotoRows.add(newRow(width));
+        terminal.add(NO_MATCH);
+        int[] patternLengths = new int[patterns.size()];
+        boolean[] wordStart = new boolean[patterns.size()];
+        boolean[] wordEnd = new boolean[patterns.size()];
+
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            patternLengths[id] = pattern.length();
+            if (pattern.isBlank()) {
+                continue;
+            }
+            wordStart[id] = Character.isLetterOrDigit(pattern.charAt(0));
+            wordEnd[id] = Character.isLetterOrDigit(pattern.charAt(pattern.length() - 1));
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int symbol = symbolOf(fold(pattern.charAt(i)), asciiSymbols, otherChars, otherSymbols);
+                int next = gotoRows.get(state)[symbol];
+                if (next == NO_MATCH) {
+                    next = gotoRows.size();
+                    gotoRows.add(newRow(width));
+                    terminal.add(NO_MATCH);
+                    gotoRows.get(state)[symbol] = next;
+                }
+                state = next;
+            }
+            // Duplicate patterns keep the first id
+            if (terminal.get(state) == NO_MATCH) {
+                terminal.set(state, id);
+            }
+        }
+
+        // Breadth-first: fill missing transitions from the failure state and inherit its output
+        int states = gotoRows.size();
+        int[] delta = new int[states * width];
+        int[] fail = new int[states];
+        int[] output = new int[states];
+        int[] ends = new int[states];
+        int[] dictionaryLink = new int[states];
+        Queue<Integer> queue = new ArrayDeque<>();
+
+        output[0] = terminal.get(0);
+        ends[0] = terminal.get(0);
+        dictionaryLink[0] = NO_MATCH;
+        int[] rootRow = gotoRows.get(0);
+        for (int symbol = 0; symbol < width; symbol++) {
+            int next = rootRow[symbol];
+            if (next == NO_MATCH) {
+                delta[symbol] = 0;
+            } else {
+                delta[symbol] = next;
+                fail[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int own = terminal.get(state);
+            output[state] = own != NO_MATCH ? own : output[fail[state]];
+            ends[state] = own;
+            dictionaryLink[state] = ends[fail[state]] != NO_MATCH ? fail[state] : dictionaryLink[fail[state]];
+
+            int[] row = gotoRows.get(state);
+            for (int symbol = 0; symbol < width; symbol++) {
+                int next = row[symbol];
+                if (next == NO_MATCH) {
+                    delta[state * width + symbol] = delta[fail[state] * width + symbol];
+                } else {
+                    delta[state * width + symbol] = next;
+                    fail[next] = delta[fail[state] * width + symbol];
+                    queue.add(next);
+                }
+            }
+        }
+
+        return new AhoCorasickMatcher(asciiSymbols, otherChars, otherSymbols, width, delta, output, patternLengths,
+                wholeWords, ends, dictionaryLink, wordStart, wordEnd);
+    }
+
+    /**
+     * Id of the longest pattern occurring anywhere in {@code text} (lowest id on ties), or -1.
+     */
+    public int longestMatch(CharSequence text) {
+        int state = 0;
+        int best = NO_MATCH;
+        int bestLength = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            int symbol = symbolOf(fold(text.charAt(i)), asciiSymbols, otherChars, otherSymbols);
+            state = symbol == NO_MATCH ? 0 : delta[state * alphabetSize + symbol];
+            int match = wholeWords ? wholeWordMatch(text, state, i) : output[state];
+            if (match != NO_MATCH) {
+                int length = patternLengths[match];
+                if (length > bestLength || (length == bestLength && match < best)) {
+                    best = match;
+                    bestLength = length;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Longest pattern ending at text[end] that is not part of a longer word, or NO_MATCH
+    private int wholeWordMatch(CharSequence text, int state, int end) {
+        int s = terminal[state] != NO_MATCH ? state : dictionaryLink[state];
+        while (s != NO_MATCH) {
+            int id = terminal[s];
+            int start = end - patternLengths[id] + 1;
+            boolean startOk = !wordStart[id] || start == 0 || !Character.isLetterOrDigit(text.charAt(start - 1));
+            boolean endOk = !wordEnd[id] || end + 1 == text.length()
+                    || !Character.isLetterOrDigit(text.charAt(end + 1));
+            if (startOk && endOk) {
+                return id;
+            }
+            s = dictionaryLink[s];
+        }
+        return NO_MATCH;
+    }
+
+    public int stateCount() {
+        return output.length;
+    }
+
+    private static int[] newRow(int width) {
+        int[] row = new int[width];
+        Arrays.fill(row, NO_MATCH);
+        return row;
+    }
+
+    private static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    private static int symbolOf(char c, int[] asciiSymbols, char[] otherChars, int[] otherSymbols) {
+        if (c < 128) {
+            return asciiSymbols[c];
+        }
+        int i = Arrays.binarySearch(otherChars, c);
+        return i >= 0 ? otherSymbols[i] : NO_MATCH;
+    }
+}
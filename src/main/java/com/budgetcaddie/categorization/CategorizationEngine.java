@@ -0,0 +1,115 @@
+package com.budgetcaddie.categorization;
+
+import com.budgetcaddie.model.CategoryRule;
+import com.budgetcaddie.model.Transaction;
+import com.budgetcaddie.repository.CategoryRuleRepository;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sync pipeline stage that normalizes merchants and fills categories before rows are stored.
+ *
+ * For each transaction the raw {@code name} is run through the built-in rule set, matching whole
+ * words only: a match fills the merchant and the category where Plaid sent none, and never
+ * replaces what Plaid did send. The user's own {@link CategoryRule}s (plain substring patterns)
+ * are then applied on top and always win. Both rule sets are precompiled automata, so a row
+ * costs one pass over its name per rule set and allocates nothing.
+ */
+@Component
+public class CategorizationEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(CategorizationEngine.class);
+
+    @Value("${categorization.rules:classpath:categorization/merchant-rules.csv}")
+    private Resource rulesResource;
+
+    @Autowired
+    private CategoryRuleRepository categoryRuleRepository;
+
+    private volatile MerchantRuleSet builtIn = MerchantRuleSet.EMPTY;
+
+    // Compiled overrides per user; dropped when the user edits their rules
+    private final ConcurrentHashMap<Long, MerchantRuleSet> userRules = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void loadBuiltInRules() throws IOException {
+        try (InputStream in = rulesResource.getInputStream()) {
+            builtIn = MerchantRuleSet.compile(MerchantRuleSet.parseCsv(in), true);
+        }
+        logger.info("Loaded {} built-in merchant rules", builtIn.size());
+    }
+
+    /**
+     * Categorizes {@code rows} in place for {@code userId}.
+     */
+    public void apply(Long userId, List<Transaction> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        MerchantRuleSet overrides = userRules.computeIfAbsent(userId, this::loadUserRules);
+        apply(builtIn, overrides, rows);
+    }
+
+    /**
+     * Forgets the compiled overrides of the user; the next sync recompiles them.
+     */
+    public void invalidateUser(Long userId) {
+        userRules.remove(userId);
+    }
+
+    /**
+     * The categorization itself, without Spring or the database; also used by the benchmark.
+     */
+    public static void apply(MerchantRuleSet builtIn, MerchantRuleSet overrides, List<Transaction> rows) {
+        for (int i = 0, n = rows.size(); i < n; i++) {
+            Transaction tx = rows.get(i);
+            String name = tx.getName();
+
+            MerchantRule rule = builtIn.find(name);
+            if (rule != null) {
+                if (tx.getMerchantName() == null && rule.merchant() != null) {
+                    tx.setMerchantName(rule.merchant());
+                }
+                if (tx.getCategory() == null && rule.category() != null) {
+                    tx.setCategory(rule.category());
+                    tx.setSubcategory(rule.subcategory());
+                }
+            }
+
+            MerchantRule override = overrides.find(name);
+            if (override != null) {
+                if (override.merchant() != null) {
+                    tx.setMerchantName(override.merchant());
+                }
+                tx.setCategory(override.category());
+                tx.setSubcategory(override.subcategory());
+            }
+        }
+    }
+
+    private MerchantRuleSet loadUserRules(Long userId) {
+        List<CategoryRule> stored = categoryRuleRepository.findByUserIdOrderById(userId);
+        if (stored.isEmpty()) {
+            return MerchantRuleSet.EMPTY;
+        }
+        List<MerchantRule> rules = new ArrayList<>(stored.size());
+        for (CategoryRule r : stored) {
+            rules.add(new MerchantRule(r.getPattern(), r.getMerchantName(), r.getCategory(), r.getSubcategory()));
+        }
+        return MerchantRuleSet.compile(rules);
+    }
+}
@@ -0,0 +1,8 @@
+package com.budgetcaddie.categorization;
+
+/**
+ * "A transaction whose name contains {@code pattern} (ignoring case) is at {@code merchant},
+ * in {@code category}/{@code subcategory}". Any of the outputs may be null to leave that field alone.
+ */
+public record MerchantRule(String pattern, String merchant, String category, String subcategory) {
+}
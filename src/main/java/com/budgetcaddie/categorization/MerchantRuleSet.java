@@ -0,0 +1,86 @@
+package com.budgetcaddie.categorization;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A list of {@link MerchantRule}s compiled into one {@link AhoCorasickMatcher}. When several
+ * patterns occur in a name the longest one wins, so "uber eats" beats "uber".
+ */
+public final class MerchantRuleSet {
+
+    public static final MerchantRuleSet EMPTY = compile(List.of());
+
+    private final MerchantRule[] rules;
+    private final AhoCorasickMatcher matcher;
+
+    private MerchantRuleSet(MerchantRule[] rules, AhoCorasickMatcher matcher) {
+        this.rules = rules;
+        this.matcher = matcher;
+    }
+
+    public static MerchantRuleSet compile(List<MerchantRule> rules) {
+        return compile(rules, false);
+    }
+
+    /**
+     * @param wholeWords match patterns only as whole words, see {@link AhoCorasickMatcher}
+     */
+    public static MerchantRuleSet compile(List<MerchantRule> rules, boolean wholeWords) {
+        List<String> patterns = new ArrayList<>(rules.size());
+        for (MerchantRule rule : rules) {
+            patterns.add(rule.pattern());
+        }
+        return new MerchantRuleSet(rules.toArray(new MerchantRule[0]),
+                AhoCorasickMatcher.compile(patterns, wholeWords));
+    }
+
+    /**
+     * The rule matching {@code text}, or null.
+     */
+    public MerchantRule find(CharSequence text) {
+        if (text == null || rules.length == 0) {
+            return null;
+        }
+        int id = matcher.longestMatch(text);
+        return id < 0 ? null : rules[id];
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    /**
+     * Reads rules as CSV lines of {@code pattern,merchant,category,subcategory}. Blank lines and
+     * lines starting with {@code #} are skipped; empty fields become null.
+     */
+    public static List<MerchantRule> parseCsv(InputStream in) throws IOException {
+        List<MerchantRule> rules = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] fields = line.split(",", -1);
+                if (fields.length != 4 || fields[0].isBlank()) {
+                    throw new IOException("Malformed merchant rule: " + line);
+                }
+                rules.add(new MerchantRule(fields[0].strip(), emptyToNull(fields[1]), emptyToNull(fields[2]),
+                        emptyToNull(fields[3])));
+            }
+        }
+        return rules;
+    }
+
+    private static String emptyToNull(String field) {
+        String value = field.strip();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -1,13 +1,70 @@
 package com.budgetcaddie.config;
 
+import com.budgetcaddie.plaid.PlaidMetricsInterceptor;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class AppConfig {
+
+    @Value("${plaid.http.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${plaid.http.max-connections-per-route:50}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${plaid.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${plaid.http.read-timeout-ms:60000}")
+    private long readTimeoutMs;
+
+    @Value("${plaid.http.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    /**
+     * Pooled HTTP client for Plaid. Connections are kept alive and reused across pages and
+     * concurrent syncs; gzip/deflate responses are requested and decoded by the client itself.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient plaidHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(5))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMs))
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+                .build();
+    }
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(CloseableHttpClient plaidHttpClient, PlaidMetricsInterceptor metricsInterceptor) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(plaidHttpClient));
+        restTemplate.getInterceptors().add(metricsInterceptor);
+        return restTemplate;
     }
 }
@@ -0,0 +1,23 @@
+package com.budgetcaddie.config;
+
+import com.budgetcaddie.cache.InProcessUserScopedCache;
+import com.budgetcaddie.cache.UserScopedCache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * In-process by default; declare another {@link UserScopedCache} bean to use a shared cache.
+     */
+    @Bean
+    @ConditionalOnMissingBean(UserScopedCache.class)
+    public UserScopedCache userScopedCache(@Value("${cache.user.max-entries:10000}") int maxEntries,
+            @Value("${cache.user.ttl-ms:300000}") long ttlMs) {
+        return new InProcessUserScopedCache(maxEntries, ttlMs);
+    }
+}
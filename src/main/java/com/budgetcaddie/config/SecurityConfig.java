@@ -1,31 +1,80 @@
 package com.budgetcaddie.config;
 
+import com.budgetcaddie.security.JwtAuthenticationFilter;
+import com.budgetcaddie.security.JwtUtil;
+import com.budgetcaddie.security.TimedPasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 public class SecurityConfig {
 
+    /**
+     * Stateless chain: API calls authenticate with the bearer token from /api/auth/login only,
+     * checked by {@link JwtAuthenticationFilter} without a session or a user lookup. Basic and
+     * form login are off so no request pays a BCrypt check except the login itself.
+     *
+     * Only actuator health and info are public. The Prometheus scrape needs a token on the
+     * application port; with {@code management.server.port} set to a separate, unexposed port it
+     * is open there for the scraper instead.
+     */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtUtil jwtUtil,
+            @Value("${server.port:8080}") int serverPort,
+            @Value("${management.server.port:-1}") int managementPort) throws Exception {
+        boolean separateManagementPort = managementPort > 0 && managementPort != serverPort;
+        RequestMatcher prometheusScrape = request -> separateManagementPort
+                && request.getLocalPort() == managementPort
+                && "/actuator/prometheus".equals(request.getRequestURI());
+
         http
                 .authorizeHttpRequests(auth -> auth
-                        .anyRequest().permitAll()) // Permit all requests for now; update later for auth
+                        .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        .requestMatchers("/api/auth/**", "/api/health", "/api/hello").permitAll()
+                        // Plaid calls this itself; PlaidWebhookVerifier checks the signature instead
+                        .requestMatchers(HttpMethod.POST, "/api/plaid/webhook").permitAll()
+                        .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                        .requestMatchers(prometheusScrape).permitAll()
+                        .requestMatchers("/api/**", "/actuator/**").authenticated()
+                        // Static pages; they call the API with the token they keep in localStorage
+                        .anyRequest().permitAll())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .csrf(csrf -> csrf.disable())
-                .formLogin(Customizer.withDefaults())
-                .httpBasic(Customizer.withDefaults());
+                .cors(Customizer.withDefaults())
+                .httpBasic(basic -> basic.disable())
+                .formLogin(form -> form.disable())
+                .logout(logout -> logout.disable())
+                .requestCache(cache -> cache.disable())
+                .exceptionHandling(ex -> ex.authenticationEntryPoint((request, response, e) -> {
+                    response.setStatus(HttpStatus.UNAUTHORIZED.value());
+                    response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                    response.getWriter().write("Error: Not authenticated");
+                }))
+                .addFilterBefore(new JwtAuthenticationFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        // BCrypt password encoder for hashing passwords securely
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int strength,
+            MeterRegistry registry) {
+        // BCrypt password encoder for hashing passwords securely. Existing hashes keep verifying
+        // at their own strength; auth.password.rehash-on-login upgrades them as users sign in
+        return new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), registry);
     }
 }
@@ -0,0 +1,64 @@
+package com.budgetcaddie.config;
+
+import com.budgetcaddie.service.SpendRollupService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One-shot rebuild of the monthly spend summaries, e.g. after a bulk backfill:
+ *
+ * <pre>
+ * java -jar budgetcaddie.jar --rebuild-summaries             # every account
+ * java -jar budgetcaddie.jar --rebuild-summaries=acct1,acct2 # only these accounts
+ * </pre>
+ *
+ * The application exits once the rebuild has committed. Without the option this does nothing.
+ */
+@Component
+public class SummaryRebuildRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummaryRebuildRunner.class);
+
+    static final String OPTION = "rebuild-summaries";
+
+    @Autowired
+    private SpendRollupService spendRollupService;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+
+        List<String> accountIds = new ArrayList<>();
+        for (String value : args.getOptionValues(OPTION)) {
+            for (String accountId : value.split(",")) {
+                if (!accountId.isBlank()) {
+                    accountIds.add(accountId.trim());
+                }
+            }
+        }
+
+        long start = System.nanoTime();
+        spendRollupService.rebuild(accountIds);
+        logger.info("Rebuilt spend summaries for {} in {} ms",
+                accountIds.isEmpty() ? "all accounts" : accountIds.size() + " account(s)",
+                (System.nanoTime() - start) / 1_000_000);
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,80 @@
+package com.budgetcaddie.controller;
+
+import com.budgetcaddie.analytics.TransactionColumns;
+import com.budgetcaddie.analytics.TransactionSnapshotService;
+import com.budgetcaddie.security.CurrentUserResolver;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Spend analytics over any date range, answered from the caller's in-memory transaction
+ * snapshot instead of the database. {@code from} and {@code to} are inclusive and optional.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private static final int MAX_MERCHANTS = 500;
+
+    @Autowired
+    private TransactionSnapshotService snapshotService;
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    /**
+     * Net amount and count per category, largest first.
+     */
+    @GetMapping("/categories")
+    public ResponseEntity<?> categories(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return analyze(from, to, columns -> columns.totalsByCategory(from, to));
+    }
+
+    /**
+     * Merchants with the highest net amount.
+     */
+    @GetMapping("/merchants")
+    public ResponseEntity<?> merchants(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_MERCHANTS) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_MERCHANTS);
+        }
+        return analyze(from, to, columns -> columns.topMerchants(from, to, limit));
+    }
+
+    /**
+     * Net amount per month with the change from the month before.
+     */
+    @GetMapping("/months")
+    public ResponseEntity<?> months(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return analyze(from, to, columns -> columns.monthly(from, to));
+    }
+
+    private ResponseEntity<?> analyze(LocalDate from, LocalDate to, Function<TransactionColumns, ?> query) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            return ResponseEntity.badRequest().body("from must not be after to");
+        }
+        return ResponseEntity.ok(query.apply(snapshotService.snapshot(userId.get())));
+    }
+}
@@ -5,19 +5,33 @@ import com.budgetcaddie.payload.JwtResponse;
 import com.budgetcaddie.payload.LoginRequest;
 import com.budgetcaddie.repository.UserRepository;
 import com.budgetcaddie.security.JwtUtil;
+import com.budgetcaddie.security.LoginThrottle;
+import com.budgetcaddie.security.PasswordHashingService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
+/**
+ * Login and registration. The BCrypt work runs on {@link PasswordHashingService}'s pool, so
+ * both endpoints return futures and free the Tomcat worker while the hash is computed.
+ */
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
@@ -28,77 +42,150 @@ public class AuthController {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService hashingService;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    // Re-hash with the current BCrypt strength when a login proves the stored hash is weaker
+    @Value("${auth.password.rehash-on-login:false}")
+    private boolean rehashOnLogin;
+
     /**
-     * Login endpoint allowing username or email with password.
+     * Login endpoint allowing username or email with password. Accounts and client IPs with too
+     * many recent failures get 429 before any lookup or hashing happens.
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest loginRequest,
+            HttpServletRequest request) {
         String loginInput = loginRequest.getUsername(); // username or email
         String password = loginRequest.getPassword();
+        // The client address; behind a proxy this relies on server.forward-headers-strategy
+        String ip = request.getRemoteAddr();
+
+        LoginThrottle.Reason throttled = loginThrottle.check(loginInput, ip);
+        if (throttled != null) {
+            logger.warn("Login throttled ({}) for '{}' from {}", throttled, loginInput, ip);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginThrottle.retryAfterSeconds()))
+                    .body("Error: Too many failed login attempts, try again later"));
+        }
 
-        Optional<User> userOptional = userRepository.findAll()
+        // A username match wins over another account's email that happens to look the same
+        Optional<User> userOptional = userRepository.findByUsernameOrEmail(loginInput)
                 .stream()
-                .filter(u -> u.getUsername().equalsIgnoreCase(loginInput)
-                        || u.getEmail().equalsIgnoreCase(loginInput))
-                .findFirst();
+                .min(Comparator.comparing((User u) -> !u.getUsername().equalsIgnoreCase(loginInput)));
 
         if (userOptional.isEmpty()) {
             logger.warn("Login failed: user not found for '{}'", loginInput);
-            return ResponseEntity.badRequest()
-                    .body("Error: User not found with username or email: " + loginInput);
+            loginThrottle.recordFailure(loginInput, ip);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body("Error: User not found with username or email: " + loginInput));
         }
 
         User user = userOptional.get();
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
-            logger.warn("Login failed: incorrect password for user '{}'", loginInput);
-            return ResponseEntity.badRequest()
-                    .body("Error: Incorrect password");
+        CompletableFuture<Boolean> matches;
+        try {
+            matches = hashingService.matches(password, user.getPassword());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(hashingBusy());
         }
 
-        String jwt = jwtUtil.generateToken(user.getUsername());
+        return matches.<ResponseEntity<?>>thenApply(ok -> {
+            if (!ok) {
+                logger.warn("Login failed: incorrect password for user '{}'", loginInput);
+                loginThrottle.recordFailure(loginInput, ip);
+                return ResponseEntity.badRequest()
+                        .body("Error: Incorrect password");
+            }
+
+            if (rehashOnLogin && hashingService.needsRehash(user.getPassword())) {
+                rehash(user, password);
+            }
 
-        return ResponseEntity.ok(new JwtResponse(jwt));
+            String jwt = jwtUtil.generateToken(user.getUsername(), user.getId());
+
+            return ResponseEntity.ok(new JwtResponse(jwt));
+        });
     }
 
     /**
      * Registration endpoint to create a new user account.
      */
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody User user) {
+    public CompletableFuture<ResponseEntity<?>> registerUser(@Valid @RequestBody User user) {
+        List<User> conflicts = userRepository.findConflicting(user.getUsername(), user.getEmail());
 
-        boolean usernameExists = userRepository.findAll()
-                .stream()
+        boolean usernameExists = conflicts.stream()
                 .anyMatch(u -> u.getUsername().equalsIgnoreCase(user.getUsername()));
 
         if (usernameExists) {
             logger.warn("Registration failed: username '{}' already taken", user.getUsername());
-            return ResponseEntity.badRequest()
-                    .body("Error: Username is already taken");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body("Error: Username is already taken"));
         }
 
-        boolean emailExists = userRepository.findAll()
-                .stream()
-                .anyMatch(u -> u.getEmail().equalsIgnoreCase(user.getEmail()));
-
-        if (emailExists) {
+        if (!conflicts.isEmpty()) {
             logger.warn("Registration failed: email '{}' already in use", user.getEmail());
-            return ResponseEntity.badRequest()
-                    .body("Error: Email is already in use");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                    .body("Error: Email is already in use"));
         }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        CompletableFuture<String> encoded;
+        try {
+            encoded = hashingService.encode(user.getPassword());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(hashingBusy());
+        }
 
-        User savedUser = userRepository.save(user);
+        return encoded.<ResponseEntity<?>>thenApply(hash -> {
+            user.setPassword(hash);
 
-        logger.info("User registered successfully: '{}'", savedUser.getUsername());
+            User savedUser;
+            try {
+                savedUser = userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                // Lost a race with a concurrent registration; the unique indexes caught it
+                logger.warn("Registration failed: '{}' / '{}' registered concurrently", user.getUsername(), user.getEmail());
+                return ResponseEntity.badRequest()
+                        .body("Error: Username or email is already in use");
+            }
 
-        return ResponseEntity.ok(savedUser);
+            logger.info("User registered successfully: '{}'", savedUser.getUsername());
+
+            return ResponseEntity.ok(savedUser);
+        });
     }
-}
 
+    /**
+     * Replaces the user's hash in the background. Skipped when the hashing queue is full; the
+     * next login tries again.
+     */
+    private void rehash(User user, String password) {
+        String currentHash = user.getPassword();
+        try {
+            hashingService.encode(password)
+                    .thenAccept(newHash -> {
+                        if (userRepository.replacePasswordHash(user.getId(), currentHash, newHash) == 1) {
+                            logger.info("Rehashed password for user '{}' with the current strength", user.getUsername());
+                        }
+                    })
+                    .exceptionally(e -> {
+                        logger.warn("Rehashing the password of user '{}' failed", user.getUsername(), e);
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            logger.debug("Hashing queue full, rehash of '{}' deferred", user.getUsername());
+        }
+    }
+
+    private static ResponseEntity<?> hashingBusy() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Error: Too many sign-ins in progress, try again shortly");
+    }
+}
@@ -1,14 +1,98 @@
 package com.budgetcaddie.controller;
 
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import com.budgetcaddie.cache.UserScopedCache;
+import com.budgetcaddie.model.Budget;
+import com.budgetcaddie.repository.BudgetRepository;
+import com.budgetcaddie.repository.PlaidAccountRepository;
+import com.budgetcaddie.security.CurrentUserResolver;
+import com.budgetcaddie.service.BudgetService;
+
+import jakarta.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/budgets")
 public class BudgetController {
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private PlaidAccountRepository accountRepository;
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private UserScopedCache cache;
+
     @GetMapping("/hello")
     public String hello() {
         return "Hello, Budgets!";
     }
+
+    @GetMapping
+    public ResponseEntity<?> listBudgets() {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        return ResponseEntity.ok(cache.get(userId.get(), "budgets",
+                () -> budgetRepository.findByUserIdWithAccounts(userId.get())));
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createBudget(@Valid @RequestBody Budget budget) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        if (!accountRepository.findAccountIdsByUserId(userId.get()).containsAll(budget.getAccountIds())) {
+            return ResponseEntity.badRequest().body("Error: Account not linked to this user");
+        }
+        budget.setId(null);
+        budget.setUserId(userId.get());
+        Budget saved = budgetRepository.save(budget);
+        cache.evictUser(userId.get());
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteBudget(@PathVariable Long id) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        Optional<Budget> budget = budgetRepository.findById(id).filter(b -> b.getUserId().equals(userId.get()));
+        if (budget.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        budgetRepository.delete(budget.get());
+        cache.evictUser(userId.get());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Spend against each of the user's budgets for the current period, read from the rollup.
+     */
+    @GetMapping("/status")
+    public ResponseEntity<?> getBudgetStatus() {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        LocalDate today = LocalDate.now();
+        return ResponseEntity.ok(cache.get(userId.get(), "budgets|status|" + today,
+                () -> budgetService.evaluate(userId.get(), today)));
+    }
 }
@@ -0,0 +1,69 @@
+package com.budgetcaddie.controller;
+
+import com.budgetcaddie.categorization.CategorizationEngine;
+import com.budgetcaddie.model.CategoryRule;
+import com.budgetcaddie.repository.CategoryRuleRepository;
+import com.budgetcaddie.security.CurrentUserResolver;
+
+import jakarta.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+/**
+ * The user's categorization overrides. They apply to transactions synced after the change.
+ */
+@RestController
+@RequestMapping("/api/category-rules")
+public class CategoryRuleController {
+
+    @Autowired
+    private CategoryRuleRepository categoryRuleRepository;
+
+    @Autowired
+    private CategorizationEngine categorizationEngine;
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    @GetMapping
+    public ResponseEntity<?> listRules() {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        return ResponseEntity.ok(categoryRuleRepository.findByUserIdOrderById(userId.get()));
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createRule(@Valid @RequestBody CategoryRule rule) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        rule.setId(null);
+        rule.setUserId(userId.get());
+        CategoryRule saved = categoryRuleRepository.save(rule);
+        categorizationEngine.invalidateUser(userId.get());
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteRule(@PathVariable Long id) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        Optional<CategoryRule> rule = categoryRuleRepository.findById(id).filter(r -> r.getUserId().equals(userId.get()));
+        if (rule.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        categoryRuleRepository.delete(rule.get());
+        categorizationEngine.invalidateUser(userId.get());
+        return ResponseEntity.noContent().build();
+    }
+}
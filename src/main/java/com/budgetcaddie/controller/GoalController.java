@@ -1,14 +1,119 @@
 package com.budgetcaddie.controller;
 
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import com.budgetcaddie.model.Goal;
+import com.budgetcaddie.repository.GoalRepository;
+import com.budgetcaddie.repository.PlaidAccountRepository;
+import com.budgetcaddie.security.CurrentUserResolver;
+import com.budgetcaddie.service.GoalForecastService;
+
+import jakarta.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/goals")
 public class GoalController {
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private GoalForecastService forecastService;
+
+    @Autowired
+    private PlaidAccountRepository accountRepository;
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
     @GetMapping("/hello")
     public String hello() {
         return "Hello, Goals!";
     }
+
+    /**
+     * Every goal of the user with its stored forecast, in one query. Nothing is recomputed here.
+     */
+    @GetMapping
+    public ResponseEntity<?> listGoals() {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        return ResponseEntity.ok(goalRepository.findByUserIdWithAccounts(userId.get()));
+    }
+
+    @PostMapping
+    public ResponseEntity<?> createGoal(@Valid @RequestBody Goal goal) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        if (!accountRepository.findAccountIdsByUserId(userId.get()).containsAll(goal.getAccountIds())) {
+            return ResponseEntity.badRequest().body("Error: Account not linked to this user");
+        }
+        goal.setId(null);
+        goal.setUserId(userId.get());
+        try {
+            forecastService.recompute(List.of(goal), LocalDate.now());
+        } catch (IllegalArgumentException e) {
+            return mixedCurrencies();
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(goalRepository.save(goal));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateGoal(@PathVariable Long id, @Valid @RequestBody Goal changes) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        Optional<Goal> existing = goalRepository.findById(id).filter(g -> g.getUserId().equals(userId.get()));
+        if (existing.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!accountRepository.findAccountIdsByUserId(userId.get()).containsAll(changes.getAccountIds())) {
+            return ResponseEntity.badRequest().body("Error: Account not linked to this user");
+        }
+        Goal goal = existing.get();
+        goal.setName(changes.getName());
+        goal.setCurrencyCode(changes.getCurrencyCode());
+        goal.setTargetAmount(changes.getTargetAmount());
+        goal.setTargetDate(changes.getTargetDate());
+        goal.setSavedAmount(changes.getSavedAmount());
+        goal.getAccountIds().clear();
+        goal.getAccountIds().addAll(changes.getAccountIds());
+        try {
+            forecastService.recompute(List.of(goal), LocalDate.now());
+        } catch (IllegalArgumentException e) {
+            return mixedCurrencies();
+        }
+        return ResponseEntity.ok(goalRepository.save(goal));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteGoal(@PathVariable Long id) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        Optional<Goal> goal = goalRepository.findById(id).filter(g -> g.getUserId().equals(userId.get()));
+        if (goal.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        goalRepository.delete(goal.get());
+        return ResponseEntity.noContent().build();
+    }
+
+    // Cash flow in different currencies cannot be added up into one forecast
+    private static ResponseEntity<?> mixedCurrencies() {
+        return ResponseEntity.badRequest().body("Error: Linked accounts must all be in the goal's currency");
+    }
 }
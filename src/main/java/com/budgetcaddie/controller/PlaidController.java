@@ -3,50 +3,80 @@ package com.budgetcaddie.controller;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import jakarta.annotation.PostConstruct;
-
-import com.budgetcaddie.repository.TransactionRepository;
-import com.budgetcaddie.model.Transaction;
+import com.budgetcaddie.cache.UserScopedCache;
+import com.budgetcaddie.model.PlaidItem;
+import com.budgetcaddie.plaid.PlaidApiException;
+import com.budgetcaddie.plaid.PlaidClient;
+import com.budgetcaddie.repository.PlaidItemRepository;
+import com.budgetcaddie.service.BackfillPage;
+import com.budgetcaddie.security.CurrentUserResolver;
+import com.budgetcaddie.service.PlaidBackfillService;
+import com.budgetcaddie.service.PlaidItemService;
+import com.budgetcaddie.service.PlaidSyncScheduler;
+import com.budgetcaddie.service.SyncJob;
+import com.budgetcaddie.service.SyncJobService;
+import com.budgetcaddie.service.SyncProgress;
+import com.budgetcaddie.service.SyncProgressRegistry;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDate;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/plaid")
 public class PlaidController {
 
-    @Value("${plaid.client_id}")
-    private String clientId;
+    private static final Logger logger = LoggerFactory.getLogger(PlaidController.class);
 
-    @Value("${plaid.secret}")
-    private String secret;
+    @Autowired
+    private PlaidClient plaidClient;
 
-    @Value("${plaid.environment}")
-    private String plaidBaseUrl;
+    @Autowired
+    private ObjectMapper objectMapper;
 
-    @PostConstruct
-    public void init() {
-        System.out.println("✅ PLAID BASE URL LOADED: " + plaidBaseUrl);
-    }
+    @Autowired
+    private SyncJobService syncJobService;
 
     @Autowired
-    private RestTemplate restTemplate;
+    private PlaidBackfillService backfillService;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private PlaidSyncScheduler syncScheduler;
 
     @Autowired
-    private TransactionRepository transactionRepository;
+    private SyncProgressRegistry progressRegistry;
 
     @Autowired
-    private com.budgetcaddie.repository.PlaidCursorRepository cursorRepository;
+    private PlaidItemService itemService;
+
+    @Autowired
+    private PlaidItemRepository itemRepository;
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private UserScopedCache cache;
+
+    @Value("${plaid.webhook.url:}")
+    private String webhookUrl;
 
     // =========================
     // LINK TOKEN CREATION
@@ -62,8 +92,6 @@ public class PlaidController {
             user.put("client_user_id", uniqueUserId);
 
             Map<String, Object> request = new HashMap<>();
-            request.put("client_id", clientId);
-            request.put("secret", secret);
             request.put("client_name", "BudgetCaddie");
             request.put("language", "en");
             request.put("country_codes", new String[] { "US", "CA" });
@@ -81,13 +109,17 @@ public class PlaidController {
             transactionsConfig.put("days_requested", 730);
             request.put("transactions", transactionsConfig);
 
+            // Items linked with this token push SYNC_UPDATES_AVAILABLE to /api/plaid/webhook
+            if (!webhookUrl.isEmpty()) {
+                request.put("webhook", webhookUrl);
+            }
+
             // DEBUG: log the outgoing payload so you can confirm customization + filters
-            try {
-                System.out.println("📝 /link/token/create payload => " + objectMapper.writeValueAsString(request));
-            } catch (Exception ignore) {}
+            if (logger.isDebugEnabled()) {
+                logger.debug("/link/token/create payload => {}", objectMapper.writeValueAsString(request));
+            }
 
-            String url = plaidBaseUrl + "/link/token/create";
-            ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
+            ResponseEntity<String> response = plaidClient.post("/link/token/create", request);
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 JsonNode json = objectMapper.readTree(response.getBody());
@@ -96,7 +128,7 @@ public class PlaidController {
                 return ResponseEntity.badRequest().body("Failed to create link token");
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Creating a link token failed", e);
             return ResponseEntity.internalServerError().body("Error: " + e.getMessage());
         }
     }
@@ -104,8 +136,16 @@ public class PlaidController {
     // =========================
     // PUBLIC TOKEN EXCHANGE
     // =========================
+    /**
+     * Exchanges the Link public token and records the item and its accounts for the calling user.
+     */
     @PostMapping("/exchange_public_token")
-    public ResponseEntity<?> exchangePublicToken(@RequestBody Map<String, String> body) {
+    public ResponseEntity<?> exchangePublicToken(
+            @RequestBody Map<String, String> body) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
         String publicToken = body.get("public_token");
         if (publicToken == null || publicToken.isEmpty()) {
             return ResponseEntity.badRequest().body("public_token is required");
@@ -113,12 +153,9 @@ public class PlaidController {
 
         try {
             Map<String, String> request = new HashMap<>();
-            request.put("client_id", clientId);
-            request.put("secret", secret);
             request.put("public_token", publicToken);
 
-            String url = plaidBaseUrl + "/item/public_token/exchange";
-            ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
+            ResponseEntity<String> response = plaidClient.post("/item/public_token/exchange", request);
 
             if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
                 return ResponseEntity.status(response.getStatusCode())
@@ -127,12 +164,18 @@ public class PlaidController {
 
             JsonNode json = objectMapper.readTree(response.getBody());
             String accessToken = json.path("access_token").asText();
+            String itemId = json.path("item_id").asText();
 
-            // TODO: Persist accessToken per user (securely)
+            JsonNode accounts = objectMapper.readTree(
+                    plaidClient.post("/accounts/get", Map.of("access_token", accessToken)).getBody());
+            PlaidItem item = itemService.link(userId.get(), itemId, accessToken, accounts);
+            cache.evictUser(userId.get());
 
-            return ResponseEntity.ok(Map.of("access_token", accessToken));
+            return ResponseEntity.ok(Map.of("access_token", accessToken, "item_id", item.getItemId()));
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Error: " + ex.getMessage());
         } catch (Exception ex) {
-            ex.printStackTrace();
+            logger.error("Exchanging a public token failed", ex);
             return ResponseEntity.internalServerError().body("Error: " + ex.getMessage());
         }
     }
@@ -140,140 +183,173 @@ public class PlaidController {
     // =========================
     // FULL TRANSACTION BACKFILL (PAGINATED)
     // =========================
+    /**
+     * With {@code parallelism > 1}, the pages after the first are fetched concurrently once
+     * total_transactions is known, then reassembled in order.
+     */
     @PostMapping("/transactions/get")
-    public ResponseEntity<?> getAllTransactionsFromPlaid(@RequestBody Map<String, String> body) {
+    public ResponseEntity<?> getAllTransactionsFromPlaid(@RequestBody Map<String, String> body,
+            @RequestParam(defaultValue = "1") int parallelism) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
         String accessToken = body.get("access_token");
 
         if (accessToken == null || accessToken.isEmpty()) {
             return ResponseEntity.badRequest().body("access_token is required");
         }
+        if (ownedItem(userId.get(), accessToken).isEmpty()) {
+            return unknownItem();
+        }
 
         try {
-            int pageSize = 500; // Plaid max per call
-            int offset = 0;
-            int totalTransactions = -1;
-
-            java.util.List<JsonNode> allTransactions = new java.util.ArrayList<>();
-
-            do {
-                Map<String, Object> request = new HashMap<>();
-                request.put("client_id", clientId);
-                request.put("secret", secret);
-                request.put("access_token", accessToken);
-
-                request.put("start_date", LocalDate.now().minusYears(2).toString());
-                request.put("end_date", LocalDate.now().toString());
-
-                Map<String, Object> options = new HashMap<>();
-                options.put("count", pageSize);
-                options.put("offset", offset);
-                request.put("options", options);
-
-                String url = plaidBaseUrl + "/transactions/get";
-                ResponseEntity<String> response = restTemplate.postForEntity(url, request, String.class);
-
-                if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                    return ResponseEntity.status(response.getStatusCode())
-                            .body("Failed to fetch transactions from Plaid");
-                }
-
-                JsonNode root = objectMapper.readTree(response.getBody());
-                totalTransactions = root.path("total_transactions").asInt(0);
-
-                JsonNode txs = root.path("transactions");
-                for (JsonNode t : txs) {
-                    allTransactions.add(t);
-                }
-
-                offset += pageSize;
-
-            } while (offset < totalTransactions);
+            BackfillPage all = backfillService.fetchAll(accessToken, parallelism);
 
             Map<String, Object> result = new HashMap<>();
-            result.put("total_transactions", totalTransactions);
-            result.put("transactions", allTransactions);
+            result.put("total_transactions", all.totalTransactions());
+            result.put("transactions", all.transactions());
 
             return ResponseEntity.ok(result);
 
+        } catch (PlaidApiException e) {
+            return ResponseEntity.status(e.getStatusCode())
+                    .body("Failed to fetch transactions from Plaid");
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Transaction backfill failed", e);
             return ResponseEntity.internalServerError()
                     .body("Error fetching transactions: " + e.getMessage());
         }
     }
 
+    // =========================
+    // STREAMING BACKFILL (NDJSON)
+    // =========================
+    /**
+     * Same history as /transactions/get, written as NDJSON page by page as it arrives, with
+     * the next {@code parallelism} pages prefetched (default one). Memory stays bounded by the
+     * pages in flight regardless of history size.
+     */
+    @PostMapping(value = "/transactions/get/stream", produces = "application/x-ndjson")
+    public ResponseEntity<?> streamAllTransactionsFromPlaid(@RequestBody Map<String, String> body,
+            @RequestParam(defaultValue = "1") int parallelism) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        String accessToken = body.get("access_token");
+
+        if (accessToken == null || accessToken.isEmpty()) {
+            return ResponseEntity.badRequest().body("access_token is required");
+        }
+        if (ownedItem(userId.get(), accessToken).isEmpty()) {
+            return unknownItem();
+        }
+
+        StreamingResponseBody stream = out -> {
+            String error;
+            try {
+                backfillService.streamAsNdjson(accessToken, parallelism, out);
+                return;
+            } catch (PlaidApiException e) {
+                error = "Plaid returned " + e.getStatusCode().value() + " while paging transactions";
+            } catch (RuntimeException e) {
+                // Open circuit, timeout, interrupted prefetch: the client still has to learn the
+                // stream is cut short
+                logger.error("Streaming transaction backfill failed", e);
+                error = "Transaction backfill failed; the stream is incomplete";
+            }
+            // Headers are already sent; report the failure as the last line
+            out.write(objectMapper.writeValueAsBytes(Map.of("error", error)));
+            out.write('\n');
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(stream);
+    }
+
+    /**
+     * Starts a background sync of the item and answers 202 with the job; poll
+     * /api/plaid/sync/jobs/{id} for progress. Submitting again while the item's job is queued or
+     * running returns that same job.
+     */
     @PostMapping("/transactions/sync")
     public ResponseEntity<?> syncTransactions(@RequestBody Map<String, String> body) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
         String accessToken = body.get("access_token");
         if (accessToken == null || accessToken.isEmpty()) {
             return ResponseEntity.badRequest().body("access_token is required");
         }
+        Optional<PlaidItem> item = ownedItem(userId.get(), accessToken);
+        if (item.isEmpty()) {
+            return unknownItem();
+        }
 
         try {
-            String cursor = cursorRepository.findByAccessToken(accessToken)
-                    .map(c -> c.getCursor())
-                    .orElse(null);
-
-            boolean hasMore = true;
-            int countNew = 0;
-
-            while (hasMore) {
-                Map<String, Object> req = new HashMap<>();
-                req.put("client_id", clientId);
-                req.put("secret", secret);
-                req.put("access_token", accessToken);
-                if (cursor != null)
-                    req.put("cursor", cursor);
-
-                String url = plaidBaseUrl + "/transactions/sync";
-                ResponseEntity<String> response = restTemplate.postForEntity(url, req, String.class);
-
-                if (!response.getStatusCode().is2xxSuccessful()) {
-                    return ResponseEntity.status(response.getStatusCode())
-                            .body("Error from Plaid: " + response.getBody());
-                }
-
-                JsonNode root = objectMapper.readTree(response.getBody());
-
-                JsonNode added = root.path("added");
-                for (JsonNode t : added) {
-                    String plaidId = t.path("transaction_id").asText();
-                    if (!transactionRepository.existsByPlaidTransactionId(plaidId)) {
-                        Transaction tx = new Transaction();
-                        tx.setPlaidTransactionId(plaidId);
-                        tx.setAccountId(t.path("account_id").asText());
-                        tx.setAmount(t.path("amount").asDouble());
-                        tx.setName(t.path("name").asText());
-                        JsonNode cat = t.path("personal_finance_category");
-                        tx.setCategory(cat.path("primary").asText(null));
-                        tx.setSubcategory(cat.path("detailed").asText(null));
-                        tx.setDate(LocalDate.parse(t.path("date").asText()));
-                        tx.setCurrencyCode(t.path("iso_currency_code").asText(null));
-                        tx.setMerchantName(t.path("merchant_name").asText(null));
-                        transactionRepository.save(tx);
-                        countNew++;
-                    }
-                }
-
-                hasMore = root.path("has_more").asBoolean();
-                cursor = root.path("next_cursor").asText(null);
-
-                com.budgetcaddie.model.PlaidCursor pc = cursorRepository.findByAccessToken(accessToken)
-                        .orElse(new com.budgetcaddie.model.PlaidCursor());
-                pc.setAccessToken(accessToken);
-                pc.setCursor(cursor);
-                cursorRepository.save(pc);
-            }
+            SyncJob job = syncJobService.submit(item.get());
+            return ResponseEntity.accepted().location(URI.create("/api/plaid/sync/jobs/" + job.getId())).body(job);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body("Error: Too many sync jobs queued, try again shortly");
+        }
+    }
 
-            return ResponseEntity.ok("Synced and stored " + countNew + " new transactions.");
-        } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.internalServerError().body("Error syncing transactions: " + e.getMessage());
+    /**
+     * The caller's own job; other users' job ids are reported as unknown.
+     */
+    @GetMapping("/sync/jobs/{jobId}")
+    public ResponseEntity<?> getSyncJob(@PathVariable String jobId) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
         }
+        return syncJobService.find(jobId, userId.get())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: Unknown sync job"));
+    }
+
+    /**
+     * Sync progress and lag since startup of the caller's items, stalest first.
+     */
+    @GetMapping("/sync/status")
+    public ResponseEntity<?> getSyncStatus() {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        List<SyncProgress> status = new ArrayList<>();
+        for (PlaidItem item : itemRepository.findByUserId(userId.get())) {
+            progressRegistry.find(item.getAccessToken()).ifPresent(status::add);
+        }
+        status.sort(Comparator.comparing(SyncProgress::getLagSeconds,
+                Comparator.nullsFirst(Comparator.<Long>reverseOrder())));
+        return ResponseEntity.ok(status);
+    }
+
+    /**
+     * Starts a background sync of the caller's items without waiting for the nightly sweep.
+     */
+    @PostMapping("/sync/refresh")
+    public ResponseEntity<?> refreshAllItems() {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        int queued = syncScheduler.refresh(itemRepository.findByUserId(userId.get()));
+        return ResponseEntity.accepted().body(Map.of("queued", queued));
+    }
+
+    // Unknown tokens and other users' items get the same answer, so neither can be probed
+    private Optional<PlaidItem> ownedItem(Long userId, String accessToken) {
+        return itemRepository.findByAccessToken(accessToken).filter(item -> userId.equals(item.getUserId()));
     }
 
-    @GetMapping("/transactions/all")
-    public java.util.List<Transaction> getAllStoredTransactions() {
-        return transactionRepository.findAll();
+    private static ResponseEntity<?> unknownItem() {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: No linked Plaid item for this access token");
     }
 }
@@ -0,0 +1,70 @@
+package com.budgetcaddie.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.budgetcaddie.plaid.PlaidWebhookVerifier;
+import com.budgetcaddie.service.WebhookSyncQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Receives Plaid webhooks. Only TRANSACTIONS / SYNC_UPDATES_AVAILABLE triggers work; every
+ * other verified webhook is acknowledged and ignored. The reply is sent as soon as the item is
+ * queued; the sync itself runs in the background.
+ */
+@RestController
+@RequestMapping("/api/plaid/webhook")
+public class PlaidWebhookController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaidWebhookController.class);
+
+    @Autowired
+    private PlaidWebhookVerifier verifier;
+
+    @Autowired
+    private WebhookSyncQueue webhookSyncQueue;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PostMapping
+    public ResponseEntity<?> receive(@RequestHeader(value = "Plaid-Verification", required = false) String verification,
+            @RequestBody byte[] body) {
+        // Verified against the raw bytes; the signature covers the body exactly as sent
+        if (!verifier.isValid(verification, body)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Invalid webhook signature");
+        }
+
+        JsonNode webhook;
+        try {
+            webhook = objectMapper.readTree(body);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("Error: Malformed webhook body");
+        }
+
+        String type = webhook.path("webhook_type").asText();
+        String code = webhook.path("webhook_code").asText();
+        String itemId = webhook.path("item_id").asText(null);
+
+        if (!"TRANSACTIONS".equals(type) || !"SYNC_UPDATES_AVAILABLE".equals(code)) {
+            logger.debug("Ignoring Plaid webhook {}/{} for item {}", type, code, itemId);
+            return ResponseEntity.ok(Map.of("status", "ignored"));
+        }
+        if (itemId == null || itemId.isEmpty()) {
+            return ResponseEntity.badRequest().body("Error: item_id is required");
+        }
+
+        boolean queued = webhookSyncQueue.enqueue(itemId);
+        return ResponseEntity.ok(Map.of("status", queued ? "queued" : "coalesced"));
+    }
+}
@@ -1,15 +1,165 @@
 package com.budgetcaddie.controller;
 
+import com.budgetcaddie.cache.UserScopedCache;
+import com.budgetcaddie.payload.TransactionFilter;
+import com.budgetcaddie.repository.CategorySpendRepository;
+import com.budgetcaddie.repository.MerchantSpendRepository;
+import com.budgetcaddie.repository.PlaidAccountRepository;
+import com.budgetcaddie.repository.TransactionQueryRepository;
+import com.budgetcaddie.security.CurrentUserResolver;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
 @RestController
 @RequestMapping("/api/transactions")
 public class TransactionController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final int MAX_SUMMARY_MONTHS = 120;
+
+    @Autowired
+    private TransactionQueryRepository transactionQueryRepository;
+
+    @Autowired
+    private CategorySpendRepository categorySpendRepository;
+
+    @Autowired
+    private MerchantSpendRepository merchantSpendRepository;
+
+    @Autowired
+    private PlaidAccountRepository accountRepository;
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private UserScopedCache cache;
+
     @GetMapping("/hello")
     public String hello() {
         return "Hello, Transactions!";
     }
+
+    /**
+     * The user's stored transactions, newest first, one keyset page at a time. Pass the
+     * returned {@code nextCursor} as {@code cursor} to get the following page.
+     */
+    @GetMapping
+    public ResponseEntity<?> listTransactions(
+            @RequestParam(required = false) String accountId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String merchant,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        TransactionFilter filter = new TransactionFilter(accountId, category, merchant, from, to, minAmount, maxAmount);
+        String key = "transactions|" + filter + "|" + cursor + "|" + limit;
+        try {
+            return ResponseEntity.ok(cache.get(userId.get(), key,
+                    () -> transactionQueryRepository.findPage(userId.get(), filter, cursor, limit)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Net amount and count per month, read from the monthly rollup. Without {@code accountId}
+     * every account of the user is included.
+     */
+    @GetMapping("/summary/monthly")
+    public ResponseEntity<?> monthlySummary(
+            @RequestParam(required = false) List<String> accountId,
+            @RequestParam YearMonth from,
+            @RequestParam YearMonth to) {
+        return summarize("monthly", accountId, from, to,
+                accounts -> categorySpendRepository.summarizeByMonth(accounts, from.atDay(1), to.atDay(1)));
+    }
+
+    /**
+     * Net amount and count per month and category.
+     */
+    @GetMapping("/summary/categories")
+    public ResponseEntity<?> categorySummary(
+            @RequestParam(required = false) List<String> accountId,
+            @RequestParam YearMonth from,
+            @RequestParam YearMonth to) {
+        return summarize("categories", accountId, from, to,
+                accounts -> categorySpendRepository.summarizeByCategory(accounts, from.atDay(1), to.atDay(1)));
+    }
+
+    /**
+     * Merchants with the highest net spend over the range.
+     */
+    @GetMapping("/summary/merchants")
+    public ResponseEntity<?> merchantSummary(
+            @RequestParam(required = false) List<String> accountId,
+            @RequestParam YearMonth from,
+            @RequestParam YearMonth to,
+            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return summarize("merchants|" + limit, accountId, from, to,
+                accounts -> merchantSpendRepository.findTopMerchants(accounts, from.atDay(1), to.atDay(1), limit));
+    }
+
+    private ResponseEntity<?> summarize(String kind, List<String> requestedAccounts, YearMonth from,
+            YearMonth to, java.util.function.Function<Set<String>, List<?>> query) {
+        Optional<Long> userId = currentUserResolver.currentUserId();
+        if (userId.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: Not authenticated");
+        }
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().body("from must not be after to");
+        }
+        if (from.plusMonths(MAX_SUMMARY_MONTHS).isBefore(to)) {
+            return ResponseEntity.badRequest().body("range must not exceed " + MAX_SUMMARY_MONTHS + " months");
+        }
+
+        // Ownership only changes when an item is linked, and linking evicts the user
+        Set<String> owned = cache.get(userId.get(), "accounts",
+                () -> accountRepository.findAccountIdsByUserId(userId.get()));
+        Set<String> accounts = owned;
+        if (requestedAccounts != null && !requestedAccounts.isEmpty()) {
+            if (!owned.containsAll(requestedAccounts)) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Error: Account not linked to this user");
+            }
+            accounts = new TreeSet<>(requestedAccounts);
+        }
+        if (accounts.isEmpty()) {
+            return ResponseEntity.ok(List.of());
+        }
+        Set<String> selected = accounts;
+        String key = "summary|" + kind + "|" + (requestedAccounts == null || requestedAccounts.isEmpty() ? "*" : selected)
+                + "|" + from + "|" + to;
+        return ResponseEntity.ok(cache.get(userId.get(), key, () -> query.apply(selected)));
+    }
 }
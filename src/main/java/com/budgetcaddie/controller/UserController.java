@@ -2,14 +2,19 @@ package com.budgetcaddie.controller;
 
 import com.budgetcaddie.model.User;
 import com.budgetcaddie.repository.UserRepository;
+import com.budgetcaddie.security.PasswordHashingService;
 
 import jakarta.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/users")
@@ -19,13 +24,23 @@ public class UserController {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService hashingService;
 
     @PostMapping
-    public User createUser(@Valid @RequestBody User user) {
-        // Hash the password before saving
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+    public CompletableFuture<ResponseEntity<?>> createUser(@Valid @RequestBody User user) {
+        // Hash the password before saving, on the hashing pool rather than this worker
+        CompletableFuture<String> encoded;
+        try {
+            encoded = hashingService.encode(user.getPassword());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Error: Too many sign-ins in progress, try again shortly"));
+        }
+        return encoded.thenApply(hash -> {
+            user.setPassword(hash);
+            return ResponseEntity.ok(userRepository.save(user));
+        });
     }
 
     @GetMapping
@@ -1,5 +1,131 @@
 package com.budgetcaddie.model;
 
-// Empty stub for now. You will fill this later.
+import com.budgetcaddie.money.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A spending limit for one category over a calendar period, counted across the linked accounts.
+ *
+ * The limit is stored exactly, in minor units of {@code currencyCode}; the API reads and writes
+ * it as the decimal {@code limitAmount}.
+ */
+@Entity
+@Table(name = "budgets")
 public class Budget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owner; always set from the authenticated user, never from the request body
+    @Column(nullable = false)
+    private Long userId;
+
+    @NotBlank(message = "Category must not be blank")
+    @Column(nullable = false)
+    private String category;
+
+    @NotNull(message = "Period must be set")
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private BudgetPeriod period;
+
+    @NotNull(message = "Limit must be set")
+    @Positive(message = "Limit must be positive")
+    @Column(name = "limit_minor", nullable = false)
+    private Long limitMinor;
+
+    @NotNull(message = "Currency must be set")
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code")
+    @Column(nullable = false, length = 3)
+    private String currencyCode;
+
+    // The limit as sent; the currency may arrive after it and change its minor-unit digits
+    @Transient
+    private BigDecimal limitInput;
+
+    // Plaid account ids whose spending counts against this budget
+    @NotEmpty(message = "At least one account must be linked")
+    @ElementCollection
+    @CollectionTable(name = "budget_accounts", joinColumns = @JoinColumn(name = "budget_id"))
+    @Column(name = "account_id", nullable = false)
+    private Set<String> accountIds = new HashSet<>();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public BudgetPeriod getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(BudgetPeriod period) {
+        this.period = period;
+    }
+
+    /**
+     * The limit as a decimal in major units of its currency.
+     */
+    public BigDecimal getLimitAmount() {
+        return limitMinor != null ? Money.toDecimal(limitMinor, currencyCode) : null;
+    }
+
+    public void setLimitAmount(BigDecimal limitAmount) {
+        this.limitInput = limitAmount;
+        this.limitMinor = limitAmount != null ? Money.toMinor(limitAmount, currencyCode) : null;
+    }
+
+    @JsonIgnore
+    public Money getLimit() {
+        return new Money(limitMinor, currencyCode);
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public void setCurrencyCode(String currencyCode) {
+        BigDecimal limit = limitInput != null ? limitInput : getLimitAmount();
+        this.currencyCode = currencyCode;
+        setLimitAmount(limit);
+    }
+
+    public Set<String> getAccountIds() {
+        return accountIds;
+    }
+
+    public void setAccountIds(Set<String> accountIds) {
+        this.accountIds = accountIds;
+    }
 }
@@ -0,0 +1,9 @@
+package com.budgetcaddie.model;
+
+/**
+ * How often a budget's limit resets. Periods are calendar-aligned.
+ */
+public enum BudgetPeriod {
+    MONTHLY,
+    YEARLY
+}
@@ -0,0 +1,82 @@
+package com.budgetcaddie.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * A user's own categorization override: transactions whose name contains {@code pattern}
+ * (ignoring case) get this category, and this merchant name if one is set. Overrides win over
+ * both Plaid's category and the built-in rules.
+ */
+@Entity
+@Table(name = "category_rules")
+public class CategoryRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owner; always set from the authenticated user, never from the request body
+    @Column(nullable = false)
+    private Long userId;
+
+    @NotBlank(message = "Pattern must not be blank")
+    @Column(nullable = false)
+    private String pattern;
+
+    @NotBlank(message = "Category must not be blank")
+    @Column(nullable = false)
+    private String category;
+
+    private String subcategory;
+
+    private String merchantName;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getSubcategory() {
+        return subcategory;
+    }
+
+    public void setSubcategory(String subcategory) {
+        this.subcategory = subcategory;
+    }
+
+    public String getMerchantName() {
+        return merchantName;
+    }
+
+    public void setMerchantName(String merchantName) {
+        this.merchantName = merchantName;
+    }
+}
@@ -1,5 +1,171 @@
 package com.budgetcaddie.model;
 
-// Empty stub for now. You will fill this later.
+import com.budgetcaddie.money.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A savings target funded by the net cash flow of the linked accounts.
+ *
+ * Target and saved amounts are stored exactly, in minor units of {@code currencyCode}; the API
+ * reads and writes them as the decimals {@code targetAmount} and {@code savedAmount}.
+ */
+@Entity
+@Table(name = "goals")
 public class Goal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Owner; always set from the authenticated user, never from the request body
+    @Column(nullable = false)
+    private Long userId;
+
+    @NotBlank(message = "Name must not be blank")
+    @Column(nullable = false)
+    private String name;
+
+    @NotNull(message = "Target amount must be set")
+    @Positive(message = "Target amount must be positive")
+    @Column(name = "target_minor", nullable = false)
+    private Long targetMinor;
+
+    @NotNull(message = "Target date must be set")
+    @Column(nullable = false)
+    private LocalDate targetDate;
+
+    // Amount already put aside when the goal was created or last edited
+    @PositiveOrZero(message = "Saved amount must not be negative")
+    @Column(name = "saved_minor", nullable = false)
+    private long savedMinor;
+
+    @NotNull(message = "Currency must be set")
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code")
+    @Column(nullable = false, length = 3)
+    private String currencyCode;
+
+    // The amounts as sent; the currency may arrive after them and change their minor-unit digits
+    @Transient
+    private BigDecimal targetInput;
+
+    @Transient
+    private BigDecimal savedInput;
+
+    @NotEmpty(message = "At least one account must be linked")
+    @ElementCollection
+    @CollectionTable(name = "goal_accounts", joinColumns = @JoinColumn(name = "goal_id"))
+    @Column(name = "account_id", nullable = false)
+    private Set<String> accountIds = new HashSet<>();
+
+    @Embedded
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private GoalForecast forecast = new GoalForecast();
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * The target as a decimal in major units of its currency.
+     */
+    public BigDecimal getTargetAmount() {
+        return targetMinor != null ? Money.toDecimal(targetMinor, currencyCode) : null;
+    }
+
+    public void setTargetAmount(BigDecimal targetAmount) {
+        this.targetInput = targetAmount;
+        this.targetMinor = targetAmount != null ? Money.toMinor(targetAmount, currencyCode) : null;
+    }
+
+    @JsonIgnore
+    public Money getTarget() {
+        return new Money(targetMinor, currencyCode);
+    }
+
+    public LocalDate getTargetDate() {
+        return targetDate;
+    }
+
+    public void setTargetDate(LocalDate targetDate) {
+        this.targetDate = targetDate;
+    }
+
+    public BigDecimal getSavedAmount() {
+        return Money.toDecimal(savedMinor, currencyCode);
+    }
+
+    /**
+     * @param savedAmount decimal in major units; null counts as nothing saved
+     */
+    public void setSavedAmount(BigDecimal savedAmount) {
+        this.savedInput = savedAmount;
+        this.savedMinor = savedAmount != null ? Money.toMinor(savedAmount, currencyCode) : 0;
+    }
+
+    @JsonIgnore
+    public Money getSaved() {
+        return new Money(savedMinor, currencyCode);
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public void setCurrencyCode(String currencyCode) {
+        BigDecimal target = targetInput != null ? targetInput : getTargetAmount();
+        BigDecimal saved = savedInput != null ? savedInput : getSavedAmount();
+        this.currencyCode = currencyCode;
+        setTargetAmount(target);
+        setSavedAmount(saved);
+    }
+
+    public Set<String> getAccountIds() {
+        return accountIds;
+    }
+
+    public void setAccountIds(Set<String> accountIds) {
+        this.accountIds = accountIds;
+    }
+
+    public GoalForecast getForecast() {
+        return forecast;
+    }
+
+    public void setForecast(GoalForecast forecast) {
+        this.forecast = forecast;
+    }
 }
@@ -0,0 +1,72 @@
+package com.budgetcaddie.model;
+
+import com.budgetcaddie.money.Money;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Precomputed projection for a goal, stored on the goal row so reads never recompute it.
+ */
+@Embeddable
+public class GoalForecast {
+
+    // Average monthly net inflow across the goal's accounts over the history window, in minor
+    // units of currencyCode
+    @Column(name = "forecast_monthly_savings_minor")
+    private Long monthlySavingsMinor;
+
+    @Column(name = "forecast_currency_code", length = 3)
+    private String currencyCode;
+
+    // Null when the accounts are not saving, i.e. the goal is never reached at the current rate
+    @Column(name = "forecast_completion_date")
+    private LocalDate projectedCompletionDate;
+
+    @Column(name = "forecast_on_track")
+    private Boolean onTrack;
+
+    @Column(name = "forecast_computed_at")
+    private Instant computedAt;
+
+    public BigDecimal getMonthlySavings() {
+        return monthlySavingsMinor != null ? Money.toDecimal(monthlySavingsMinor, currencyCode) : null;
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public void setMonthlySavings(Money monthlySavings) {
+        this.monthlySavingsMinor = monthlySavings != null ? monthlySavings.minorUnits() : null;
+        this.currencyCode = monthlySavings != null ? monthlySavings.currencyCode() : null;
+    }
+
+    public LocalDate getProjectedCompletionDate() {
+        return projectedCompletionDate;
+    }
+
+    public void setProjectedCompletionDate(LocalDate projectedCompletionDate) {
+        this.projectedCompletionDate = projectedCompletionDate;
+    }
+
+    public Boolean getOnTrack() {
+        return onTrack;
+    }
+
+    public void setOnTrack(Boolean onTrack) {
+        this.onTrack = onTrack;
+    }
+
+    public Instant getComputedAt() {
+        return computedAt;
+    }
+
+    public void setComputedAt(Instant computedAt) {
+        this.computedAt = computedAt;
+    }
+}
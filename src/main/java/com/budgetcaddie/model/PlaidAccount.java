@@ -0,0 +1,95 @@
+package com.budgetcaddie.model;
+
+import jakarta.persistence.*;
+
+/**
+ * One account under a {@link PlaidItem}. {@code userId} is copied from the item so ownership
+ * checks do not need a join.
+ */
+@Entity
+@Table(name = "plaid_accounts")
+public class PlaidAccount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long plaidItemId;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    // Plaid's account_id, as stored on transactions
+    @Column(nullable = false, unique = true)
+    private String accountId;
+
+    private String name;
+    private String mask;
+    private String type;
+    private String subtype;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPlaidItemId() {
+        return plaidItemId;
+    }
+
+    public void setPlaidItemId(Long plaidItemId) {
+        this.plaidItemId = plaidItemId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(String accountId) {
+        this.accountId = accountId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getMask() {
+        return mask;
+    }
+
+    public void setMask(String mask) {
+        this.mask = mask;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getSubtype() {
+        return subtype;
+    }
+
+    public void setSubtype(String subtype) {
+        this.subtype = subtype;
+    }
+}
@@ -10,6 +10,9 @@ public class PlaidCursor {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(nullable = false, unique = true)
+    private Long plaidItemId;
+
     @Column(nullable = false, unique = true, length = 255)
     private String accessToken;
 
@@ -24,6 +27,14 @@ public class PlaidCursor {
         this.id = id;
     }
 
+    public Long getPlaidItemId() {
+        return plaidItemId;
+    }
+
+    public void setPlaidItemId(Long plaidItemId) {
+        this.plaidItemId = plaidItemId;
+    }
+
     public String getAccessToken() {
         return accessToken;
     }
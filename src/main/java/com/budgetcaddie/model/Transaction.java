@@ -1,6 +1,9 @@
 package com.budgetcaddie.model;
 
+import com.budgetcaddie.money.Money;
+
 import jakarta.persistence.*;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
@@ -10,15 +13,20 @@ public class Transaction {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Owner and partition key; (user_id, plaid_transaction_id) is unique
+    @Column(nullable = false)
+    private Long userId;
+
     // Plaid’s unique transaction ID
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String plaidTransactionId;
 
     @Column(nullable = false)
     private String accountId;
 
-    @Column(nullable = false)
-    private Double amount;
+    // Exact amount in minor units of currencyCode; Plaid's sign (positive = money out)
+    @Column(name = "amount_minor", nullable = false)
+    private long amountMinor;
 
     @Column(nullable = false)
     private String name;
@@ -39,6 +47,14 @@ public class Transaction {
         this.id = id;
     }
 
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
     public String getPlaidTransactionId() {
         return plaidTransactionId;
     }
@@ -55,12 +71,19 @@ public class Transaction {
         this.accountId = accountId;
     }
 
-    public Double getAmount() {
-        return amount;
+    public long getAmountMinor() {
+        return amountMinor;
+    }
+
+    public void setAmountMinor(long amountMinor) {
+        this.amountMinor = amountMinor;
     }
 
-    public void setAmount(Double amount) {
-        this.amount = amount;
+    /**
+     * The amount as a decimal in major units of its currency.
+     */
+    public BigDecimal getAmount() {
+        return Money.toDecimal(amountMinor, currencyCode);
     }
 
     public String getName() {
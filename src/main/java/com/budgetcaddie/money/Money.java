@@ -0,0 +1,64 @@
+package com.budgetcaddie.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An exact amount in the minor units of its currency (cents for USD and CAD, yen for JPY).
+ *
+ * Stored amounts and rollup totals are plain {@code long}s of minor units; this type and its
+ * static helpers convert at the edges, where Plaid's decimals come in and API decimals go out.
+ * Amounts without a currency, or in one this table does not list, are taken to have two
+ * decimals. The currency_minor_digits() function in the Liquibase changelog mirrors
+ * {@link #fractionDigits}.
+ */
+public record Money(long minorUnits, String currencyCode) {
+
+    private static final Set<String> ZERO_DIGITS = Set.of("BIF", "CLP", "DJF", "GNF", "ISK", "JPY", "KMF", "KRW",
+            "PYG", "RWF", "UGX", "UYI", "VND", "VUV", "XAF", "XOF", "XPF");
+
+    private static final Set<String> THREE_DIGITS = Set.of("BHD", "IQD", "JOD", "KWD", "LYD", "OMR", "TND");
+
+    /**
+     * Digits after the decimal point in the currency's minor unit.
+     */
+    public static int fractionDigits(String currencyCode) {
+        if (currencyCode == null) {
+            return 2;
+        }
+        if (ZERO_DIGITS.contains(currencyCode)) {
+            return 0;
+        }
+        return THREE_DIGITS.contains(currencyCode) ? 3 : 2;
+    }
+
+    /**
+     * @throws ArithmeticException if the amount does not fit in a long of minor units
+     */
+    public static long toMinor(BigDecimal amount, String currencyCode) {
+        // Half up, like Postgres round() in the migration that converted the stored doubles
+        return amount.movePointRight(fractionDigits(currencyCode))
+                .setScale(0, RoundingMode.HALF_UP)
+                .longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minorUnits, String currencyCode) {
+        return BigDecimal.valueOf(minorUnits, fractionDigits(currencyCode));
+    }
+
+    public BigDecimal toDecimal() {
+        return toDecimal(minorUnits, currencyCode);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the currencies differ
+     */
+    public Money plus(Money other) {
+        if (!Objects.equals(currencyCode, other.currencyCode)) {
+            throw new IllegalArgumentException("Cannot add " + other.currencyCode + " to " + currencyCode);
+        }
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currencyCode);
+    }
+}
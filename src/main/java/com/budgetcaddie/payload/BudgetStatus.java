@@ -0,0 +1,23 @@
+package com.budgetcaddie.payload;
+
+import com.budgetcaddie.model.BudgetPeriod;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Spend so far against one budget in its current period. {@code periodEnd} is inclusive. Amounts
+ * are exact decimals in {@code currencyCode}, the budget's currency.
+ */
+public record BudgetStatus(
+        Long budgetId,
+        String category,
+        BudgetPeriod period,
+        LocalDate periodStart,
+        LocalDate periodEnd,
+        String currencyCode,
+        BigDecimal limit,
+        BigDecimal spent,
+        BigDecimal remaining,
+        boolean overLimit) {
+}
@@ -0,0 +1,12 @@
+package com.budgetcaddie.payload;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Net amount and transaction count for one category in one month, across the requested accounts
+ * in one currency. {@code total} is exact, in major units.
+ */
+public record CategorySpend(YearMonth month, String category, String currencyCode, BigDecimal total,
+        long count) {
+}
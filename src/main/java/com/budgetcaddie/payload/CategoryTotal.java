@@ -0,0 +1,10 @@
+package com.budgetcaddie.payload;
+
+import java.math.BigDecimal;
+
+/**
+ * Net amount and transaction count in one category over the requested dates, in one currency.
+ * {@code total} is exact, in major units.
+ */
+public record CategoryTotal(String category, String currencyCode, BigDecimal total, long count) {
+}
@@ -0,0 +1,10 @@
+package com.budgetcaddie.payload;
+
+import java.math.BigDecimal;
+
+/**
+ * Net amount and transaction count at one merchant over the requested months and accounts,
+ * in one currency. {@code total} is exact, in major units.
+ */
+public record MerchantSpend(String merchant, String currencyCode, BigDecimal total, long count) {
+}
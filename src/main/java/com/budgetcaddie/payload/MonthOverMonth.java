@@ -0,0 +1,12 @@
+package com.budgetcaddie.payload;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Net amount and transaction count for one month in one currency, with {@code change} from the
+ * month before (null for the first month requested). Amounts are exact, in major units.
+ */
+public record MonthOverMonth(YearMonth month, String currencyCode, BigDecimal total, long count,
+        BigDecimal change) {
+}
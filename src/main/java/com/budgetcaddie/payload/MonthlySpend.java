@@ -0,0 +1,11 @@
+package com.budgetcaddie.payload;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+/**
+ * Net amount and transaction count for one month, across the requested accounts
+ * in one currency. {@code total} is exact, in major units.
+ */
+public record MonthlySpend(YearMonth month, String currencyCode, BigDecimal total, long count) {
+}
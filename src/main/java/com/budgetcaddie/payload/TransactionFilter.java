@@ -0,0 +1,18 @@
+package com.budgetcaddie.payload;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Optional filters for the transaction query; null means "don't filter on this".
+ * Date and amount bounds are inclusive.
+ */
+public record TransactionFilter(
+        String accountId,
+        String category,
+        String merchantName,
+        LocalDate from,
+        LocalDate to,
+        BigDecimal minAmount,
+        BigDecimal maxAmount) {
+}
@@ -0,0 +1,9 @@
+package com.budgetcaddie.payload;
+
+import java.util.List;
+
+/**
+ * One keyset page of transactions. {@code nextCursor} is null on the last page.
+ */
+public record TransactionPage(List<TransactionView> items, String nextCursor) {
+}
@@ -0,0 +1,21 @@
+package com.budgetcaddie.payload;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Read-side projection of a stored transaction; only these columns are selected. {@code amount}
+ * is exact, in major units of {@code currencyCode}.
+ */
+public record TransactionView(
+        Long id,
+        String plaidTransactionId,
+        String accountId,
+        LocalDate date,
+        String name,
+        String merchantName,
+        String category,
+        String subcategory,
+        BigDecimal amount,
+        String currencyCode) {
+}
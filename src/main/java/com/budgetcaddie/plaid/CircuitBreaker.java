@@ -0,0 +1,83 @@
+package com.budgetcaddie.plaid;
+
+/**
+ * Consecutive-failure circuit breaker for one Plaid endpoint.
+ *
+ * After {@code failureThreshold} failures in a row (5xx or I/O, never 4xx) the circuit opens
+ * and calls fail fast for {@code openMillis}. Then a single trial call is let through: success
+ * closes the circuit, failure opens it again. A trial that ends without either outcome (an
+ * unexpected exception) is handed back with {@link #release()} so the next call can try.
+ */
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private Thread trialOwner;
+
+    CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Whether a call may go out now. In HALF_OPEN only one trial call is allowed at a time.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                trialOwner = Thread.currentThread();
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        trialOwner = null;
+    }
+
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            trialInFlight = false;
+            trialOwner = null;
+        }
+    }
+
+    /**
+     * Ends the calling thread's trial without recording an outcome; a no-op if it holds none.
+     */
+    synchronized void release() {
+        if (trialInFlight && trialOwner == Thread.currentThread()) {
+            trialInFlight = false;
+            trialOwner = null;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,26 @@
+package com.budgetcaddie.plaid;
+
+import org.springframework.http.HttpStatusCode;
+
+/**
+ * Plaid answered with a non-2xx status.
+ */
+public class PlaidApiException extends RuntimeException {
+
+    private final HttpStatusCode statusCode;
+    private final String responseBody;
+
+    public PlaidApiException(HttpStatusCode statusCode, String responseBody) {
+        super("Plaid returned " + statusCode.value() + ": " + responseBody);
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+    }
+
+    public HttpStatusCode getStatusCode() {
+        return statusCode;
+    }
+
+    public String getResponseBody() {
+        return responseBody;
+    }
+}
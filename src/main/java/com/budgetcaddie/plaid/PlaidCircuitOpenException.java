@@ -0,0 +1,14 @@
+package com.budgetcaddie.plaid;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A Plaid call was not attempted because the endpoint's circuit is open after repeated
+ * failures. Reported as a 503 so callers treat it like any other Plaid outage.
+ */
+public class PlaidCircuitOpenException extends PlaidApiException {
+
+    public PlaidCircuitOpenException(String endpoint) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Circuit open for " + endpoint + "; not calling Plaid");
+    }
+}
@@ -0,0 +1,253 @@
+package com.budgetcaddie.plaid;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Single entry point for Plaid API calls, and the gateway every call goes through.
+ *
+ * Each call first takes a token from its endpoint's client-wide bucket and, when the body has
+ * an access_token, from that Item's bucket, sized to {@link PlaidRateLimits}; the caller sleeps
+ * until both allow it, so concurrent syncs run at the limit instead of tripping it. A 429
+ * halves the offending bucket's rate, which then recovers with each success. 429s, 5xx and
+ * I/O errors are retried with jittered exponential backoff, waiting at least as long as a
+ * Retry-After header asks; when Retry-After is longer than {@code retry-max-delay-ms} the call
+ * gives up at once and the error propagates instead. Each endpoint has a circuit breaker that
+ * fails calls fast during an outage instead of queueing retries behind it.
+ *
+ * Retries are per request, so a sync or backfill loop retries the failing page only. 5xx and
+ * I/O errors are only retried on {@link #RETRYABLE_ON_ERROR} reads: the request may already have
+ * been processed, and replaying e.g. a public token exchange fails on the spent token.
+ */
+@Component
+public class PlaidClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaidClient.class);
+
+    // Reads that are safe to send twice; 429s are retried everywhere, as Plaid did not act on them
+    static final Set<String> RETRYABLE_ON_ERROR = Set.of("/transactions/sync", "/transactions/get",
+            "/accounts/get", "/webhook_verification_key/get");
+
+    @Value("${plaid.client_id}")
+    private String clientId;
+
+    @Value("${plaid.secret}")
+    private String secret;
+
+    @Value("${plaid.environment}")
+    private String plaidBaseUrl;
+
+    @Value("${plaid.gateway.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${plaid.gateway.retry-base-delay-ms:500}")
+    private long retryBaseDelayMs;
+
+    @Value("${plaid.gateway.retry-max-delay-ms:30000}")
+    private long retryMaxDelayMs;
+
+    @Value("${plaid.gateway.limit-fraction:1.0}")
+    private double limitFraction;
+
+    @Value("${plaid.gateway.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${plaid.gateway.breaker.open-ms:30000}")
+    private long breakerOpenMs;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<String, TokenBucket> clientBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> itemBuckets = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        logger.info("Plaid base URL: {}", plaidBaseUrl);
+    }
+
+    /**
+     * POSTs {@code body} plus credentials to {@code endpoint}, e.g. "/link/token/create".
+     */
+    public ResponseEntity<String> post(String endpoint, Map<String, ?> body) {
+        Map<String, Object> request = withCredentials(body);
+        return call(endpoint, body, () -> restTemplate.postForEntity(plaidBaseUrl + endpoint, request, String.class));
+    }
+
+    /**
+     * POSTs like {@link #post(String, Map)} but hands the open response stream to
+     * {@code extractor} instead of buffering the body into a String. A retried call runs the
+     * extractor again on the new response.
+     */
+    public <T> T post(String endpoint, Map<String, ?> body, ResponseExtractor<T> extractor) {
+        Map<String, Object> request = withCredentials(body);
+        return call(endpoint, body, () -> restTemplate.execute(plaidBaseUrl + endpoint, HttpMethod.POST,
+                restTemplate.httpEntityCallback(request), extractor));
+    }
+
+    private <T> T call(String endpoint, Map<String, ?> body, Supplier<T> request) {
+        PlaidRateLimits.Limit limit = PlaidRateLimits.forEndpoint(endpoint);
+        TokenBucket clientBucket = clientBuckets.computeIfAbsent(endpoint,
+                e -> new TokenBucket(limit.clientPerMinute() * limitFraction));
+        Object accessToken = body.get("access_token");
+        TokenBucket itemBucket = accessToken == null || limit.itemPerMinute() == 0 ? null
+                : itemBuckets.computeIfAbsent(endpoint + '|' + accessToken,
+                        e -> new TokenBucket(limit.itemPerMinute() * limitFraction));
+        CircuitBreaker breaker = breakers.computeIfAbsent(endpoint,
+                e -> new CircuitBreaker(breakerFailureThreshold, breakerOpenMs));
+        boolean idempotent = RETRYABLE_ON_ERROR.contains(endpoint);
+
+        for (int attempt = 1;; attempt++) {
+            if (!breaker.tryAcquire()) {
+                counter("plaid.gateway.rejected", endpoint, "circuit_open").increment();
+                throw new PlaidCircuitOpenException(endpoint);
+            }
+
+            RuntimeException failure;
+            long retryAfterMs = 0;
+            boolean recorded = false;
+            try {
+                throttle(endpoint, clientBucket, itemBucket);
+                T result = request.get();
+                recorded = true;
+                breaker.onSuccess();
+                clientBucket.speedUp();
+                if (itemBucket != null) {
+                    itemBucket.speedUp();
+                }
+                return result;
+            } catch (HttpStatusCodeException e) {
+                recorded = true;
+                int status = e.getStatusCode().value();
+                failure = new PlaidApiException(e.getStatusCode(), e.getResponseBodyAsString());
+                if (status == 429) {
+                    // The Item's own limit when the call is Item-scoped, otherwise the client's
+                    (itemBucket != null ? itemBucket : clientBucket).slowDown();
+                    breaker.onSuccess();
+                } else if (status >= 500) {
+                    breaker.onFailure();
+                    if (!idempotent) {
+                        throw failure;
+                    }
+                } else {
+                    breaker.onSuccess();
+                    throw failure;
+                }
+                retryAfterMs = retryAfterMillis(e.getResponseHeaders());
+            } catch (ResourceAccessException e) {
+                recorded = true;
+                breaker.onFailure();
+                if (!idempotent) {
+                    throw e;
+                }
+                failure = e;
+            } finally {
+                // Anything else (an extractor error, an unknown status, an interrupted wait) says
+                // nothing about Plaid's health, but must not keep a half-open trial slot forever
+                if (!recorded) {
+                    breaker.release();
+                }
+            }
+
+            // Retrying sooner than Retry-After only earns another 429, so a longer wait ends the call
+            if (attempt >= maxAttempts || retryAfterMs > retryMaxDelayMs) {
+                throw failure;
+            }
+            String reason = failure instanceof PlaidApiException p ? Integer.toString(p.getStatusCode().value()) : "io";
+            counter("plaid.gateway.retries", endpoint, reason).increment();
+            sleep(Math.max(retryAfterMs, Math.min(retryMaxDelayMs, backoffMillis(attempt))));
+        }
+    }
+
+    private void throttle(String endpoint, TokenBucket clientBucket, TokenBucket itemBucket) {
+        long waitNanos = clientBucket.reserve();
+        if (itemBucket != null) {
+            waitNanos = Math.max(waitNanos, itemBucket.reserve());
+        }
+        if (waitNanos > 0) {
+            Timer.builder("plaid.gateway.throttled")
+                    .description("Time calls waited for a rate-limit token")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .record(waitNanos, TimeUnit.NANOSECONDS);
+            sleep(TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1);
+        }
+    }
+
+    // Full jitter: a random delay up to base * 2^(attempt - 1)
+    private long backoffMillis(int attempt) {
+        long ceiling = retryBaseDelayMs << Math.min(attempt - 1, 10);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    // Retry-After is either delta-seconds or an HTTP date
+    private static long retryAfterMillis(HttpHeaders headers) {
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim()) * 1000);
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+            } catch (DateTimeParseException e) {
+                return 0;
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to call Plaid", e);
+        }
+    }
+
+    private Counter counter(String name, String endpoint, String reason) {
+        return Counter.builder(name).tag("endpoint", endpoint).tag("reason", reason).register(meterRegistry);
+    }
+
+    private Map<String, Object> withCredentials(Map<String, ?> body) {
+        Map<String, Object> request = new HashMap<>(body);
+        request.put("client_id", clientId);
+        request.put("secret", secret);
+        return request;
+    }
+}
@@ -0,0 +1,56 @@
+package com.budgetcaddie.plaid;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every call made through the Plaid RestTemplate as {@code plaid.requests}, tagged with
+ * the endpoint path, the HTTP status and an outcome (SUCCESS, CLIENT_ERROR, SERVER_ERROR or
+ * IO_ERROR), so error rate per endpoint is a ratio of the same timer's counts.
+ *
+ * The timer stops when response headers arrive. Streamed bodies are read afterwards by the
+ * caller, so body transfer and parsing show up in the sync phase timers instead.
+ */
+@Component
+public class PlaidMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    private final MeterRegistry registry;
+
+    public PlaidMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String endpoint = request.getURI().getPath();
+        long start = System.nanoTime();
+        String status = "NONE";
+        String outcome = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int code = response.getStatusCode().value();
+            status = Integer.toString(code);
+            outcome = code >= 500 ? "SERVER_ERROR" : code >= 400 ? "CLIENT_ERROR" : "SUCCESS";
+            return response;
+        } finally {
+            Timer.builder("plaid.requests")
+                    .description("Plaid API calls, until response headers")
+                    .tag("endpoint", endpoint)
+                    .tag("status", status)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
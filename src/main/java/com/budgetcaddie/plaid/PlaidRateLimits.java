@@ -0,0 +1,35 @@
+package com.budgetcaddie.plaid;
+
+import java.util.Map;
+
+/**
+ * Requests per minute Plaid allows per endpoint, per client and per Item, following Plaid's
+ * documented production limits. Endpoints not listed get {@link #DEFAULT}. Scale all of them
+ * with {@code plaid.gateway.limit-fraction} if the account has different limits or shares its
+ * client id with another deployment.
+ */
+final class PlaidRateLimits {
+
+    /**
+     * @param itemPerMinute 0 when the endpoint has no per-Item limit
+     */
+    record Limit(int clientPerMinute, int itemPerMinute) {
+    }
+
+    static final Limit DEFAULT = new Limit(1_000, 0);
+
+    private static final Map<String, Limit> LIMITS = Map.of(
+            "/transactions/sync", new Limit(2_500, 50),
+            "/transactions/get", new Limit(20_000, 30),
+            "/accounts/get", new Limit(15_000, 15),
+            "/item/public_token/exchange", new Limit(5_000, 0),
+            "/link/token/create", new Limit(5_000, 0),
+            "/webhook_verification_key/get", new Limit(1_000, 0));
+
+    private PlaidRateLimits() {
+    }
+
+    static Limit forEndpoint(String endpoint) {
+        return LIMITS.getOrDefault(endpoint, DEFAULT);
+    }
+}
@@ -0,0 +1,153 @@
+package com.budgetcaddie.plaid;
+
+import com.budgetcaddie.model.Transaction;
+import com.budgetcaddie.money.Money;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Reads Plaid transaction pages straight off the response stream with Jackson's token API.
+ *
+ * Each transaction object is mapped to a {@link Transaction} as its tokens go by, so a page is
+ * never held as a response String or a JsonNode tree; only the mapped rows are kept. A row
+ * without a numeric amount is skipped with a warning rather than stored as zero.
+ */
+@Component
+public class PlaidTransactionParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaidTransactionParser.class);
+
+    private final JsonFactory jsonFactory;
+
+    public PlaidTransactionParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public SyncPage parsePage(InputStream body) throws IOException {
+        List<Transaction> added = new ArrayList<>();
+        List<Transaction> modified = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        boolean hasMore = false;
+        String nextCursor = null;
+        int totalTransactions = -1;
+
+        try (JsonParser p = jsonFactory.createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object from Plaid");
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                switch (field) {
+                    case "added", "transactions" -> readTransactions(p, added::add);
+                    case "modified" -> readTransactions(p, modified::add);
+                    case "removed" -> readRemoved(p, removed);
+                    case "has_more" -> hasMore = p.getValueAsBoolean();
+                    case "next_cursor" -> nextCursor = p.getValueAsString();
+                    case "total_transactions" -> totalTransactions = p.getValueAsInt(-1);
+                    default -> p.skipChildren();
+                }
+            }
+        }
+        return new SyncPage(added, modified, removed, hasMore, nextCursor, totalTransactions);
+    }
+
+    private static void readTransactions(JsonParser p, Consumer<Transaction> sink) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            Transaction tx = readTransaction(p);
+            if (tx != null) {
+                sink.accept(tx);
+            }
+        }
+    }
+
+    /**
+     * @return the row, or null if it has no numeric amount
+     */
+    private static Transaction readTransaction(JsonParser p) throws IOException {
+        Transaction tx = new Transaction();
+        BigDecimal amount = null;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "transaction_id" -> tx.setPlaidTransactionId(textOrEmpty(p));
+                case "account_id" -> tx.setAccountId(textOrEmpty(p));
+                // Read as the exact decimal in the JSON text, never through a double
+                case "amount" -> amount = p.currentToken().isNumeric() ? p.getDecimalValue() : null;
+                case "name" -> tx.setName(textOrEmpty(p));
+                case "date" -> tx.setDate(LocalDate.parse(p.getText()));
+                case "iso_currency_code" -> tx.setCurrencyCode(p.getValueAsString());
+                case "merchant_name" -> tx.setMerchantName(p.getValueAsString());
+                case "personal_finance_category" -> readCategory(p, tx);
+                default -> p.skipChildren();
+            }
+        }
+        if (amount == null) {
+            logger.warn("Skipping Plaid transaction {} on account {}: no numeric amount",
+                    tx.getPlaidTransactionId(), tx.getAccountId());
+            return null;
+        }
+        // The currency (and so the minor unit) may come after the amount
+        tx.setAmountMinor(Money.toMinor(amount, tx.getCurrencyCode()));
+        return tx;
+    }
+
+    private static void readCategory(JsonParser p, Transaction tx) throws IOException {
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            return;
+        }
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case "primary" -> tx.setCategory(p.getValueAsString());
+                case "detailed" -> tx.setSubcategory(p.getValueAsString());
+                default -> p.skipChildren();
+            }
+        }
+    }
+
+    private static void readRemoved(JsonParser p, List<String> removed) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return;
+        }
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("transaction_id".equals(field)) {
+                    removed.add(p.getValueAsString());
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+    }
+
+    // These columns are NOT NULL; a JSON null is stored as an empty string
+    private static String textOrEmpty(JsonParser p) throws IOException {
+        String value = p.getValueAsString();
+        return value == null ? "" : value;
+    }
+}
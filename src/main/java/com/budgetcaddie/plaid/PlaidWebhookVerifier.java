@@ -0,0 +1,195 @@
+package com.budgetcaddie.plaid;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Jwks;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Checks the Plaid-Verification header of an incoming webhook.
+ *
+ * The header is an ES256 JWT signed with a key fetched (once per key id) from
+ * /webhook_verification_key/get. It must be younger than five minutes and carry the SHA-256 of
+ * the exact request body. Disable with {@code plaid.webhook.verify=false} for local replays only.
+ *
+ * The key id comes from an unauthenticated caller, so fetches are guarded: malformed ids are
+ * rejected outright, ids Plaid does not know are remembered for {@code unknown-key-ttl-ms}, and
+ * at most {@code key-fetches-per-minute} fetches go out, so random ids cannot spend the Plaid
+ * rate limit.
+ */
+@Component
+public class PlaidWebhookVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaidWebhookVerifier.class);
+
+    private static final Duration MAX_AGE = Duration.ofMinutes(5);
+
+    // Plaid's key ids are UUIDs; this is looser, but keeps arbitrary input away from Plaid
+    private static final Pattern KEY_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    @Value("${plaid.webhook.verify:true}")
+    private boolean enabled;
+
+    @Value("${plaid.webhook.unknown-key-ttl-ms:300000}")
+    private long unknownKeyTtlMs;
+
+    @Value("${plaid.webhook.key-fetches-per-minute:10}")
+    private int keyFetchesPerMinute;
+
+    @Autowired
+    private PlaidClient plaidClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, Key> keysById = new ConcurrentHashMap<>();
+    // Key id -> time (ms) until which it is answered as unknown without asking Plaid
+    private final Map<String, Long> unknownKeysUntil = new ConcurrentHashMap<>();
+
+    private long fetchWindow;
+    private int fetchesInWindow;
+
+    public boolean isValid(String verificationHeader, byte[] body) {
+        if (!enabled) {
+            return true;
+        }
+        if (verificationHeader == null || verificationHeader.isBlank()) {
+            return false;
+        }
+        try {
+            Claims claims = Jwts.parser()
+                    .keyLocator(new LocatorAdapter<Key>() {
+                        @Override
+                        protected Key locate(ProtectedHeader header) {
+                            if (!"ES256".equals(header.getAlgorithm())) {
+                                throw new UnsupportedJwtException("Unexpected webhook JWT algorithm");
+                            }
+                            return locateKey(header.getKeyId());
+                        }
+                    })
+                    .build()
+                    .parseSignedClaims(verificationHeader)
+                    .getPayload();
+
+            if (claims.getIssuedAt() == null
+                    || claims.getIssuedAt().toInstant().isBefore(Instant.now().minus(MAX_AGE))) {
+                return false;
+            }
+            String claimed = claims.get("request_body_sha256", String.class);
+            String actual = HexFormat.of().formatHex(sha256(body));
+            return claimed != null && MessageDigest.isEqual(
+                    claimed.getBytes(StandardCharsets.US_ASCII), actual.getBytes(StandardCharsets.US_ASCII));
+        } catch (JwtException | IllegalArgumentException | PlaidApiException e) {
+            logger.warn("Rejected Plaid webhook: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private Key locateKey(String keyId) {
+        if (keyId == null || !KEY_ID.matcher(keyId).matches()) {
+            throw new UnsupportedJwtException("Webhook JWT has no valid key id");
+        }
+        Key known = keysById.get(keyId);
+        if (known != null) {
+            return known;
+        }
+        long now = System.currentTimeMillis();
+        Long unknownUntil = unknownKeysUntil.get(keyId);
+        if (unknownUntil != null && unknownUntil > now) {
+            throw new UnsupportedJwtException("Unknown webhook verification key " + keyId);
+        }
+        if (!tryReserveFetch(now)) {
+            throw new UnsupportedJwtException("Webhook verification key fetch limit reached");
+        }
+
+        try {
+            Key key = fetchKey(keyId);
+            keysById.put(keyId, key);
+            unknownKeysUntil.remove(keyId);
+            return key;
+        } catch (JwtException e) {
+            rememberUnknown(keyId, now);
+            throw e;
+        } catch (PlaidApiException e) {
+            // Plaid rejected the id itself; 5xx or a timeout says nothing about it
+            if (e.getStatusCode().is4xxClientError()) {
+                rememberUnknown(keyId, now);
+            }
+            throw e;
+        }
+    }
+
+    // Entries only come from rate-limited fetches, so pruning on insert keeps the map small
+    private void rememberUnknown(String keyId, long now) {
+        unknownKeysUntil.values().removeIf(until -> until <= now);
+        unknownKeysUntil.put(keyId, now + unknownKeyTtlMs);
+    }
+
+    private synchronized boolean tryReserveFetch(long now) {
+        long window = now / 60_000;
+        if (window != fetchWindow) {
+            fetchWindow = window;
+            fetchesInWindow = 0;
+        }
+        if (fetchesInWindow >= keyFetchesPerMinute) {
+            return false;
+        }
+        fetchesInWindow++;
+        return true;
+    }
+
+    private Key fetchKey(String keyId) {
+        try {
+            String response = plaidClient.post("/webhook_verification_key/get", Map.of("key_id", keyId)).getBody();
+            JsonNode key = objectMapper.readTree(response).path("key");
+            if (!key.path("expired_at").isNull() && !key.path("expired_at").isMissingNode()) {
+                throw new UnsupportedJwtException("Webhook verification key " + keyId + " has expired");
+            }
+            // Only the JWK members; Plaid adds created_at / expired_at alongside them
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            for (String member : new String[] { "kty", "crv", "x", "y", "kid", "alg", "use" }) {
+                if (key.hasNonNull(member)) {
+                    jwk.put(member, key.get(member).asText());
+                }
+            }
+            return Jwks.parser().build().parse(objectMapper.writeValueAsString(jwk)).toKey();
+        } catch (JwtException | PlaidApiException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new UnsupportedJwtException("Could not load webhook verification key " + keyId, e);
+        }
+    }
+
+    private static byte[] sha256(byte[] body) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(body);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.budgetcaddie.plaid;
+
+import com.budgetcaddie.model.Transaction;
+
+import java.util.List;
+
+/**
+ * One parsed Plaid transactions page. For /transactions/get pages the {@code transactions}
+ * array lands in {@code added}; {@code totalTransactions} is -1 when Plaid does not send it.
+ */
+public record SyncPage(List<Transaction> added, List<Transaction> modified, List<String> removed,
+        boolean hasMore, String nextCursor, int totalTransactions) {
+}
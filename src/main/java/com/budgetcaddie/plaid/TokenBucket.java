@@ -0,0 +1,64 @@
+package com.budgetcaddie.plaid;
+
+/**
+ * Token bucket refilled continuously at a per-minute rate, with about one second of burst.
+ *
+ * Callers reserve a token and sleep for the returned wait; reservations may run the bucket into
+ * debt, so concurrent callers queue up in arrival order instead of racing for each refill. The
+ * rate is adaptive: {@link #slowDown()} halves it after a 429, {@link #speedUp()} wins back 5%
+ * of the nominal rate per success.
+ */
+final class TokenBucket {
+
+    private static final double MIN_RATE_FRACTION = 0.1;
+    private static final double RECOVERY_FRACTION = 0.05;
+
+    private final double nominalPerSecond;
+    private final double capacity;
+
+    private double ratePerSecond;
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(double perMinute) {
+        this.nominalPerSecond = perMinute / 60.0;
+        this.capacity = Math.max(1.0, nominalPerSecond);
+        this.ratePerSecond = nominalPerSecond;
+        this.tokens = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return nanoseconds the caller must wait before using it (0 if one was available)
+     */
+    synchronized long reserve() {
+        refill();
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) (-tokens / ratePerSecond * 1_000_000_000L);
+    }
+
+    synchronized void slowDown() {
+        refill();
+        ratePerSecond = Math.max(nominalPerSecond * MIN_RATE_FRACTION, ratePerSecond / 2);
+        tokens = Math.min(tokens, 0);
+    }
+
+    synchronized void speedUp() {
+        if (ratePerSecond < nominalPerSecond) {
+            refill();
+            ratePerSecond = Math.min(nominalPerSecond, ratePerSecond + nominalPerSecond * RECOVERY_FRACTION);
+        }
+    }
+
+    synchronized double currentRatePerMinute() {
+        return ratePerSecond * 60;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefillNanos) / 1e9 * ratePerSecond);
+        lastRefillNanos = now;
+    }
+}
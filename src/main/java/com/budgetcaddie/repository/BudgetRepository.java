@@ -0,0 +1,17 @@
+package com.budgetcaddie.repository;
+
+import com.budgetcaddie.model.Budget;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    /**
+     * A user's budgets with their linked accounts, in one query.
+     */
+    @Query("select distinct b from Budget b left join fetch b.accountIds where b.userId = :userId order by b.id")
+    List<Budget> findByUserIdWithAccounts(@Param("userId") Long userId);
+}
@@ -0,0 +1,10 @@
+package com.budgetcaddie.repository;
+
+import com.budgetcaddie.model.CategoryRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface CategoryRuleRepository extends JpaRepository<CategoryRule, Long> {
+    List<CategoryRule> findByUserIdOrderById(Long userId);
+}
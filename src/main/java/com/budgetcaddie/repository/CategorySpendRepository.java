@@ -0,0 +1,206 @@
+package com.budgetcaddie.repository;
+
+import com.budgetcaddie.money.Money;
+import com.budgetcaddie.payload.CategorySpend;
+import com.budgetcaddie.payload.MonthlySpend;
+
+import io.micrometer.core.annotation.Timed;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The category_month_spend rollup: net amount and row count per (account, month, category).
+ *
+ * Totals are exact sums of minor units in the account's currency. Summaries across accounts
+ * are split by currency rather than adding unlike units together.
+ */
+@Repository
+@Timed("repository.jdbc.invocations")
+public class CategorySpendRepository {
+
+    /** Category recorded for transactions Plaid did not categorize. */
+    public static final String UNCATEGORIZED = "UNCATEGORIZED";
+
+    private static final String DELETE_SQL = "DELETE FROM category_month_spend "
+            + "WHERE (account_id, month, category) IN (:keys)";
+
+    // The owner, account and date range confine the read to one partition and let Postgres use
+    // ix_transactions_user_account_date_id before the exact key match
+    private static final String REFRESH_SQL = "INSERT INTO category_month_spend "
+            + "(account_id, month, category, currency_code, total_minor, txn_count) "
+            + "SELECT account_id, CAST(date_trunc('month', date) AS date) AS m, "
+            + "COALESCE(category, '" + UNCATEGORIZED + "') AS c, MIN(currency_code), SUM(amount_minor), COUNT(*) "
+            + "FROM transactions "
+            + "WHERE user_id = :userId AND account_id IN (:accountIds) AND date >= :from AND date < :to "
+            + "AND (account_id, CAST(date_trunc('month', date) AS date), COALESCE(category, '" + UNCATEGORIZED + "')) "
+            + "IN (:keys) "
+            + "GROUP BY account_id, m, c "
+            + "ON CONFLICT (account_id, month, category) DO UPDATE SET "
+            + "currency_code = EXCLUDED.currency_code, total_minor = EXCLUDED.total_minor, "
+            + "txn_count = EXCLUDED.txn_count";
+
+    private static final String TOTALS_SQL = "SELECT account_id, month, category, currency_code, total_minor "
+            + "FROM category_month_spend "
+            + "WHERE account_id IN (:accountIds) AND category IN (:categories) AND month BETWEEN :from AND :to";
+
+    private static final String NET_BY_ACCOUNT_SQL = "SELECT account_id, MIN(currency_code) AS currency_code, "
+            + "SUM(total_minor) AS net FROM category_month_spend "
+            + "WHERE account_id IN (:accountIds) AND month >= :from AND month < :to GROUP BY account_id";
+
+    private static final String BY_MONTH_SQL = "SELECT month, currency_code, SUM(total_minor) AS total, "
+            + "SUM(txn_count) AS cnt FROM category_month_spend "
+            + "WHERE account_id IN (:accountIds) AND month BETWEEN :from AND :to "
+            + "GROUP BY month, currency_code ORDER BY month, currency_code";
+
+    private static final String BY_CATEGORY_SQL = "SELECT month, category, currency_code, SUM(total_minor) AS total, "
+            + "SUM(txn_count) AS cnt FROM category_month_spend "
+            + "WHERE account_id IN (:accountIds) AND month BETWEEN :from AND :to "
+            + "GROUP BY month, category, currency_code ORDER BY month, category, currency_code";
+
+    private static final String REBUILD_SQL = "INSERT INTO category_month_spend "
+            + "(account_id, month, category, currency_code, total_minor, txn_count) "
+            + "SELECT account_id, CAST(date_trunc('month', date) AS date), "
+            + "COALESCE(category, '" + UNCATEGORIZED + "'), MIN(currency_code), SUM(amount_minor), COUNT(*) "
+            + "FROM transactions WHERE date IS NOT NULL";
+
+    private static final String REBUILD_GROUP_BY = " GROUP BY 1, 2, 3";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Recomputes the given rollup rows, all on accounts of {@code userId}, from the transactions
+     * table. Only the rows for the touched groups are read, so the cost follows the size of a
+     * sync page, not of the history. Groups left with no transactions are removed.
+     */
+    public void refresh(Long userId, Collection<SpendKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> tuples = new ArrayList<>(keys.size());
+        Set<String> accountIds = new LinkedHashSet<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (SpendKey key : keys) {
+            tuples.add(new Object[] { key.accountId(), key.month(), key.category() });
+            accountIds.add(key.accountId());
+            if (from == null || key.month().isBefore(from)) {
+                from = key.month();
+            }
+            if (to == null || key.month().isAfter(to)) {
+                to = key.month();
+            }
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("keys", tuples)
+                .addValue("accountIds", accountIds)
+                .addValue("from", from)
+                .addValue("to", to.plusMonths(1));
+
+        namedJdbcTemplate.update(DELETE_SQL, params);
+        namedJdbcTemplate.update(REFRESH_SQL, params);
+    }
+
+    /**
+     * Replaces the rollup rows of the given accounts (all accounts if empty) with a full
+     * aggregation of their transactions.
+     */
+    public void rebuild(Collection<String> accountIds) {
+        if (accountIds.isEmpty()) {
+            namedJdbcTemplate.getJdbcTemplate().execute("TRUNCATE category_month_spend");
+            namedJdbcTemplate.getJdbcTemplate().update(REBUILD_SQL + REBUILD_GROUP_BY);
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("accountIds", accountIds);
+        namedJdbcTemplate.update("DELETE FROM category_month_spend WHERE account_id IN (:accountIds)", params);
+        namedJdbcTemplate.update(REBUILD_SQL + " AND account_id IN (:accountIds)" + REBUILD_GROUP_BY, params);
+    }
+
+    /**
+     * Rollup rows for the given accounts and categories with months in [{@code fromMonth}, {@code toMonth}].
+     */
+    public List<SpendTotal> findTotals(Collection<String> accountIds, Collection<String> categories,
+            LocalDate fromMonth, LocalDate toMonth) {
+        if (accountIds.isEmpty() || categories.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accountIds", accountIds)
+                .addValue("categories", categories)
+                .addValue("from", fromMonth)
+                .addValue("to", toMonth);
+        return namedJdbcTemplate.query(TOTALS_SQL, params, (rs, rowNum) -> new SpendTotal(
+                new SpendKey(rs.getString("account_id"), rs.getObject("month", LocalDate.class),
+                        rs.getString("category")),
+                rs.getString("currency_code"), rs.getLong("total_minor")));
+    }
+
+    /**
+     * Net amount per account, summed over every category for months in [{@code fromMonth}, {@code toMonth}).
+     * Accounts with no activity are absent from the map.
+     */
+    public Map<String, Money> findNetByAccount(Collection<String> accountIds, LocalDate fromMonth, LocalDate toMonth) {
+        Map<String, Money> net = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return net;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accountIds", accountIds)
+                .addValue("from", fromMonth)
+                .addValue("to", toMonth);
+        namedJdbcTemplate.query(NET_BY_ACCOUNT_SQL, params,
+                rs -> {
+                    net.put(rs.getString("account_id"), new Money(rs.getLong("net"), rs.getString("currency_code")));
+                });
+        return net;
+    }
+
+    /**
+     * Monthly totals over months in [{@code fromMonth}, {@code toMonth}], oldest first, one row
+     * per currency present in the month.
+     */
+    public List<MonthlySpend> summarizeByMonth(Collection<String> accountIds, LocalDate fromMonth, LocalDate toMonth) {
+        return namedJdbcTemplate.query(BY_MONTH_SQL, rangeParams(accountIds, fromMonth, toMonth),
+                (rs, rowNum) -> new MonthlySpend(YearMonth.from(rs.getObject("month", LocalDate.class)),
+                        rs.getString("currency_code"),
+                        Money.toDecimal(rs.getLong("total"), rs.getString("currency_code")), rs.getLong("cnt")));
+    }
+
+    /**
+     * Per-category monthly totals over months in [{@code fromMonth}, {@code toMonth}].
+     */
+    public List<CategorySpend> summarizeByCategory(Collection<String> accountIds, LocalDate fromMonth,
+            LocalDate toMonth) {
+        return namedJdbcTemplate.query(BY_CATEGORY_SQL, rangeParams(accountIds, fromMonth, toMonth),
+                (rs, rowNum) -> new CategorySpend(YearMonth.from(rs.getObject("month", LocalDate.class)),
+                        rs.getString("category"), rs.getString("currency_code"),
+                        Money.toDecimal(rs.getLong("total"), rs.getString("currency_code")), rs.getLong("cnt")));
+    }
+
+    private static MapSqlParameterSource rangeParams(Collection<String> accountIds, LocalDate fromMonth,
+            LocalDate toMonth) {
+        return new MapSqlParameterSource()
+                .addValue("accountIds", accountIds)
+                .addValue("from", fromMonth)
+                .addValue("to", toMonth);
+    }
+
+    public record SpendTotal(SpendKey key, String currencyCode, long totalMinor) {
+    }
+}
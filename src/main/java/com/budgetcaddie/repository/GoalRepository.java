@@ -0,0 +1,26 @@
+package com.budgetcaddie.repository;
+
+import com.budgetcaddie.model.Goal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface GoalRepository extends JpaRepository<Goal, Long> {
+
+    /**
+     * A user's goals with their linked accounts and cached forecasts, in one query.
+     */
+    @Query("select distinct g from Goal g left join fetch g.accountIds where g.userId = :userId order by g.id")
+    List<Goal> findByUserIdWithAccounts(@Param("userId") Long userId);
+
+    /**
+     * Goals funded by any of the given accounts (via ix_goal_accounts_account_id), with all of
+     * their linked accounts loaded.
+     */
+    @Query("select distinct g from Goal g left join fetch g.accountIds where g.id in "
+            + "(select g2.id from Goal g2 join g2.accountIds a where a in :accountIds)")
+    List<Goal> findLinkedToAnyAccount(@Param("accountIds") Collection<String> accountIds);
+}
@@ -0,0 +1,10 @@
+package com.budgetcaddie.repository;
+
+import java.time.LocalDate;
+
+/**
+ * One row of the merchant_month_spend rollup: an account's spend at one merchant for the
+ * month starting at {@code month}.
+ */
+public record MerchantSpendKey(String accountId, LocalDate month, String merchant) {
+}
@@ -0,0 +1,126 @@
+package com.budgetcaddie.repository;
+
+import com.budgetcaddie.money.Money;
+import com.budgetcaddie.payload.MerchantSpend;
+
+import io.micrometer.core.annotation.Timed;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The merchant_month_spend rollup: net amount and row count per (account, month, merchant).
+ * Transactions without a merchant_name are grouped under their raw name. Totals are minor units
+ * of the account's currency, as in {@link CategorySpendRepository}.
+ */
+@Repository
+@Timed("repository.jdbc.invocations")
+public class MerchantSpendRepository {
+
+    private static final String MERCHANT_EXPR = "COALESCE(merchant_name, name)";
+
+    private static final String DELETE_SQL = "DELETE FROM merchant_month_spend "
+            + "WHERE (account_id, month, merchant_name) IN (:keys)";
+
+    private static final String REFRESH_SQL = "INSERT INTO merchant_month_spend "
+            + "(account_id, month, merchant_name, currency_code, total_minor, txn_count) "
+            + "SELECT account_id, CAST(date_trunc('month', date) AS date) AS m, " + MERCHANT_EXPR + " AS mn, "
+            + "MIN(currency_code), SUM(amount_minor), COUNT(*) "
+            + "FROM transactions "
+            + "WHERE user_id = :userId AND account_id IN (:accountIds) AND date >= :from AND date < :to "
+            + "AND (account_id, CAST(date_trunc('month', date) AS date), " + MERCHANT_EXPR + ") IN (:keys) "
+            + "GROUP BY account_id, m, mn "
+            + "ON CONFLICT (account_id, month, merchant_name) DO UPDATE SET "
+            + "currency_code = EXCLUDED.currency_code, total_minor = EXCLUDED.total_minor, "
+            + "txn_count = EXCLUDED.txn_count";
+
+    private static final String TOP_MERCHANTS_SQL = "SELECT merchant_name, currency_code, SUM(total_minor) AS total, "
+            + "SUM(txn_count) AS cnt FROM merchant_month_spend "
+            + "WHERE account_id IN (:accountIds) AND month BETWEEN :from AND :to "
+            + "GROUP BY merchant_name, currency_code ORDER BY SUM(total_minor) DESC LIMIT :limit";
+
+    private static final String REBUILD_SQL = "INSERT INTO merchant_month_spend "
+            + "(account_id, month, merchant_name, currency_code, total_minor, txn_count) "
+            + "SELECT account_id, CAST(date_trunc('month', date) AS date), " + MERCHANT_EXPR + ", "
+            + "MIN(currency_code), SUM(amount_minor), COUNT(*) "
+            + "FROM transactions WHERE date IS NOT NULL";
+
+    private static final String REBUILD_GROUP_BY = " GROUP BY 1, 2, 3";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * Recomputes the given rollup rows from the transactions table; see
+     * {@link CategorySpendRepository#refresh}.
+     */
+    public void refresh(Long userId, Collection<MerchantSpendKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> tuples = new ArrayList<>(keys.size());
+        Set<String> accountIds = new LinkedHashSet<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (MerchantSpendKey key : keys) {
+            tuples.add(new Object[] { key.accountId(), key.month(), key.merchant() });
+            accountIds.add(key.accountId());
+            if (from == null || key.month().isBefore(from)) {
+                from = key.month();
+            }
+            if (to == null || key.month().isAfter(to)) {
+                to = key.month();
+            }
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("keys", tuples)
+                .addValue("accountIds", accountIds)
+                .addValue("from", from)
+                .addValue("to", to.plusMonths(1));
+
+        namedJdbcTemplate.update(DELETE_SQL, params);
+        namedJdbcTemplate.update(REFRESH_SQL, params);
+    }
+
+    /**
+     * Replaces the rollup rows of the given accounts (all accounts if empty) with a full
+     * aggregation of their transactions.
+     */
+    public void rebuild(Collection<String> accountIds) {
+        if (accountIds.isEmpty()) {
+            namedJdbcTemplate.getJdbcTemplate().execute("TRUNCATE merchant_month_spend");
+            namedJdbcTemplate.getJdbcTemplate().update(REBUILD_SQL + REBUILD_GROUP_BY);
+            return;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("accountIds", accountIds);
+        namedJdbcTemplate.update("DELETE FROM merchant_month_spend WHERE account_id IN (:accountIds)", params);
+        namedJdbcTemplate.update(REBUILD_SQL + " AND account_id IN (:accountIds)" + REBUILD_GROUP_BY, params);
+    }
+
+    /**
+     * Merchants with the highest net spend over months in [{@code fromMonth}, {@code toMonth}].
+     */
+    public List<MerchantSpend> findTopMerchants(Collection<String> accountIds, LocalDate fromMonth, LocalDate toMonth,
+            int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("accountIds", accountIds)
+                .addValue("from", fromMonth)
+                .addValue("to", toMonth)
+                .addValue("limit", limit);
+        return namedJdbcTemplate.query(TOP_MERCHANTS_SQL, params, (rs, rowNum) -> new MerchantSpend(
+                rs.getString("merchant_name"), rs.getString("currency_code"),
+                Money.toDecimal(rs.getLong("total"), rs.getString("currency_code")), rs.getLong("cnt")));
+    }
+}
@@ -0,0 +1,23 @@
+package com.budgetcaddie.repository;
+
+import com.budgetcaddie.model.PlaidAccount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface PlaidAccountRepository extends JpaRepository<PlaidAccount, Long> {
+
+    Optional<PlaidAccount> findByAccountId(String accountId);
+
+    List<PlaidAccount> findByUserId(Long userId);
+
+    /**
+     * Plaid account ids owned by the user, for scoping account filters.
+     */
+    @Query("select a.accountId from PlaidAccount a where a.userId = :userId")
+    Set<String> findAccountIdsByUserId(@Param("userId") Long userId);
+}
@@ -7,4 +7,6 @@ import java.util.Optional;
 
 public interface PlaidCursorRepository extends JpaRepository<PlaidCursor, Long> {
     Optional<PlaidCursor> findByAccessToken(String accessToken);
+
+    Optional<PlaidCursor> findByPlaidItemId(Long plaidItemId);
 }
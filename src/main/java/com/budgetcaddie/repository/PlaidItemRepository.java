@@ -0,0 +1,15 @@
+package com.budgetcaddie.repository;
+
+import com.budgetcaddie.model.PlaidItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PlaidItemRepository extends JpaRepository<PlaidItem, Long> {
+    Optional<PlaidItem> findByAccessToken(String accessToken);
+
+    Optional<PlaidItem> findByItemId(String itemId);
+
+    List<PlaidItem> findByUserId(Long userId);
+}
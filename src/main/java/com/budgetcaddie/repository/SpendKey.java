@@ -0,0 +1,10 @@
+package com.budgetcaddie.repository;
+
+import java.time.LocalDate;
+
+/**
+ * One row of the category_month_spend rollup: an account's spend in one category for the
+ * month starting at {@code month}.
+ */
+public record SpendKey(String accountId, LocalDate month, String category) {
+}
@@ -0,0 +1,129 @@
+package com.budgetcaddie.repository;
+
+import com.budgetcaddie.money.Money;
+import com.budgetcaddie.payload.TransactionFilter;
+import com.budgetcaddie.payload.TransactionPage;
+import com.budgetcaddie.payload.TransactionView;
+
+import io.micrometer.core.annotation.Timed;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Filtered transaction listing with keyset (seek) pagination on (date, id), newest first.
+ *
+ * Each page starts with an index seek just past the previous page's last (date, id), so page
+ * 1,000 costs the same as page 1; there is no OFFSET to walk. Only the filters actually given
+ * are added to the WHERE clause, so the planner can pick the matching ix_transactions_user_*
+ * index inside the user's partition.
+ */
+@Repository
+@Timed("repository.jdbc.invocations")
+public class TransactionQueryRepository {
+
+    private static final String SELECT = "SELECT id, plaid_transaction_id, account_id, date, name, merchant_name, "
+            + "category, subcategory, amount_minor, currency_code FROM transactions";
+
+    private static final RowMapper<TransactionView> VIEW_MAPPER = (rs, rowNum) -> new TransactionView(
+            rs.getLong("id"),
+            rs.getString("plaid_transaction_id"),
+            rs.getString("account_id"),
+            rs.getObject("date", LocalDate.class),
+            rs.getString("name"),
+            rs.getString("merchant_name"),
+            rs.getString("category"),
+            rs.getString("subcategory"),
+            Money.toDecimal(rs.getLong("amount_minor"), rs.getString("currency_code")),
+            rs.getString("currency_code"));
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    /**
+     * @param userId owner of the transactions; only that user's partition is read
+     * @param cursor the previous page's {@code nextCursor}, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public TransactionPage findPage(Long userId, TransactionFilter filter, String cursor, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT).append(" WHERE user_id = :userId AND date IS NOT NULL");
+        MapSqlParameterSource params = new MapSqlParameterSource("userId", userId);
+
+        if (filter.accountId() != null) {
+            sql.append(" AND account_id = :accountId");
+            params.addValue("accountId", filter.accountId());
+        }
+        if (filter.category() != null) {
+            sql.append(" AND category = :category");
+            params.addValue("category", filter.category());
+        }
+        if (filter.merchantName() != null) {
+            sql.append(" AND merchant_name = :merchantName");
+            params.addValue("merchantName", filter.merchantName());
+        }
+        if (filter.from() != null) {
+            sql.append(" AND date >= :from");
+            params.addValue("from", filter.from());
+        }
+        if (filter.to() != null) {
+            sql.append(" AND date <= :to");
+            params.addValue("to", filter.to());
+        }
+        // Bounds are decimals in each row's own currency; currency_minor_digits() scales them to minor units
+        if (filter.minAmount() != null) {
+            sql.append(" AND amount_minor >= :minAmount * power(10.0, currency_minor_digits(currency_code))");
+            params.addValue("minAmount", filter.minAmount());
+        }
+        if (filter.maxAmount() != null) {
+            sql.append(" AND amount_minor <= :maxAmount * power(10.0, currency_minor_digits(currency_code))");
+            params.addValue("maxAmount", filter.maxAmount());
+        }
+        if (cursor != null) {
+            Cursor after = Cursor.decode(cursor);
+            sql.append(" AND (date, id) < (:afterDate, :afterId)");
+            params.addValue("afterDate", after.date());
+            params.addValue("afterId", after.id());
+        }
+
+        // One extra row tells us whether there is a next page without a COUNT
+        sql.append(" ORDER BY date DESC, id DESC LIMIT :limit");
+        params.addValue("limit", limit + 1);
+
+        List<TransactionView> rows = namedJdbcTemplate.query(sql.toString(), params, VIEW_MAPPER);
+        if (rows.size() <= limit) {
+            return new TransactionPage(rows, null);
+        }
+        List<TransactionView> page = rows.subList(0, limit);
+        TransactionView last = page.get(limit - 1);
+        return new TransactionPage(page, new Cursor(last.date(), last.id()).encode());
+    }
+
+    /**
+     * Position after which the next page starts. Opaque to clients.
+     */
+    record Cursor(LocalDate date, long id) {
+
+        String encode() {
+            String raw = date + ":" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int colon = raw.indexOf(':');
+                return new Cursor(LocalDate.parse(raw.substring(0, colon)), Long.parseLong(raw.substring(colon + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+        }
+    }
+}
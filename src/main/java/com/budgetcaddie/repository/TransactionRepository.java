@@ -2,11 +2,22 @@ package com.budgetcaddie.repository;
 
 import com.budgetcaddie.model.Transaction;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     Optional<Transaction> findByPlaidTransactionId(String plaidTransactionId);
 
     boolean existsByPlaidTransactionId(String plaidTransactionId);
+
+    /**
+     * Returns which of the given Plaid transaction ids the user already has stored, in a single
+     * query against the user's partition.
+     */
+    @Query("select t.plaidTransactionId from Transaction t where t.userId = :userId and t.plaidTransactionId in :ids")
+    Set<String> findExistingPlaidTransactionIds(@Param("userId") Long userId, @Param("ids") Collection<String> ids);
 }
@@ -2,9 +2,39 @@ package com.budgetcaddie.repository;
 
 import com.budgetcaddie.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    // Additional query methods can be defined here if needed
+    // lower(...) on both sides so these hit the ux_users_*_lower functional indexes
+
+    /**
+     * Users whose username or email matches {@code login}, ignoring case. At most two rows:
+     * one matching by username and one by email.
+     */
+    @Query("select u from User u where lower(u.username) = lower(:login) or lower(u.email) = lower(:login)")
+    List<User> findByUsernameOrEmail(@Param("login") String login);
+
+    /**
+     * Existing users that would clash with a registration, in a single indexed lookup.
+     */
+    @Query("select u from User u where lower(u.username) = lower(:username) or lower(u.email) = lower(:email)")
+    List<User> findConflicting(@Param("username") String username, @Param("email") String email);
+
+    /**
+     * Swaps in a rehashed password unless it was changed since {@code currentHash} was read.
+     *
+     * @return 1 if replaced, 0 if the stored hash had moved on
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :newHash where u.id = :id and u.password = :currentHash")
+    int replacePasswordHash(@Param("id") Long id, @Param("currentHash") String currentHash,
+            @Param("newHash") String newHash);
 
 }
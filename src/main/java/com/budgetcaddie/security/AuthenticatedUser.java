@@ -0,0 +1,7 @@
+package com.budgetcaddie.security;
+
+/**
+ * Principal of a request authenticated by bearer token, built from the token's claims alone.
+ */
+public record AuthenticatedUser(Long id, String username) {
+}
@@ -0,0 +1,26 @@
+package com.budgetcaddie.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Exposes the id of the user the current request was authenticated as by
+ * {@link JwtAuthenticationFilter}.
+ */
+@Component
+public class CurrentUserResolver {
+
+    /**
+     * @return the user id, or empty if the request carried no valid bearer token
+     */
+    public Optional<Long> currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return Optional.of(user.id());
+        }
+        return Optional.empty();
+    }
+}
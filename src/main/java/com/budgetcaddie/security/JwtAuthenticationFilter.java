@@ -0,0 +1,78 @@
+package com.budgetcaddie.security;
+
+import io.jsonwebtoken.Claims;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates a request from its bearer token. The HMAC check (or the verified-token cache in
+ * {@link JwtUtil}) is all it costs: no session and no user lookup. Requests without a valid
+ * token pass through unauthenticated and are turned away by the authorization rules.
+ *
+ * Deliberately not a bean, so Boot does not also register it as a plain servlet filter.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtUtil jwtUtil;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            AuthenticatedUser user = authenticate(header.substring(BEARER_PREFIX.length()).trim());
+            if (user != null) {
+                UsernamePasswordAuthenticationToken authentication =
+                        UsernamePasswordAuthenticationToken.authenticated(user, null, List.of());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(authentication);
+                SecurityContextHolder.setContext(context);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Async endpoints (futures, streaming bodies) finish on a second dispatch that does not see
+     * the first one's context, so authenticate that one too.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * The user a token was issued to, or null if it is invalid, expired or predates the user id claim.
+     */
+    AuthenticatedUser authenticate(String token) {
+        Claims claims = jwtUtil.validClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        // Small ids come back from the JSON payload as Integer
+        if (!(claims.get(JwtUtil.USER_ID_CLAIM) instanceof Number userId)) {
+            return null;
+        }
+        return new AuthenticatedUser(userId.longValue(), claims.getSubject());
+    }
+}
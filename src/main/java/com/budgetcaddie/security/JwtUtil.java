@@ -1,12 +1,19 @@
 package com.budgetcaddie.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import io.jsonwebtoken.security.Keys;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
@@ -16,20 +23,58 @@ public class JwtUtil {
     // preferably stored securely, e.g., in environment or config server
     private static final String SECRET = "ReplaceThisWithASecureLongBase64StringForYourJWTSecretKey12345";
 
+    // Carries the user id so requests can be authenticated without a user lookup
+    public static final String USER_ID_CLAIM = "uid";
+
     private static final SecretKey SECRET_KEY = Keys.hmacShaKeyFor(SECRET.getBytes());
 
+    // Parsers are immutable and thread-safe; build one instead of one per call
+    private static final JwtParser PARSER = Jwts.parser()
+            .verifyWith(SECRET_KEY)
+            .build();
+
     // Token validity duration in milliseconds (example: 10 hours)
     private final long jwtExpirationMs = 10 * 60 * 60 * 1000;
 
+    private final VerifiedTokenCache tokenCache;
+
+    // auth.jwt.parse, split by whether the token-cache skipped the HMAC check
+    private final Timer cacheHitTimer;
+    private final Timer verifyTimer;
+
+    public JwtUtil() {
+        this(10_000, 5 * 60 * 1000);
+    }
+
+    public JwtUtil(int tokenCacheMaxEntries, long tokenCacheTtlMs) {
+        this(tokenCacheMaxEntries, tokenCacheTtlMs, Metrics.globalRegistry);
+    }
+
+    @Autowired
+    public JwtUtil(@Value("${jwt.token-cache.max-entries:10000}") int tokenCacheMaxEntries,
+            @Value("${jwt.token-cache.ttl-ms:300000}") long tokenCacheTtlMs, MeterRegistry registry) {
+        this.tokenCache = new VerifiedTokenCache(tokenCacheMaxEntries, tokenCacheTtlMs);
+        this.cacheHitTimer = parseTimer(registry, "hit");
+        this.verifyTimer = parseTimer(registry, "miss");
+    }
+
     /**
      * Generate JWT token containing username as subject, with expiration.
      */
     public String generateToken(String username) {
+        return generateToken(username, null);
+    }
+
+    /**
+     * Generate JWT token for the user, with the user id in the {@value #USER_ID_CLAIM} claim.
+     */
+    public String generateToken(String username, Long userId) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
                 .subject(username)
+                .claim(USER_ID_CLAIM, userId)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(SECRET_KEY)
@@ -55,23 +100,46 @@ public class JwtUtil {
      * Validate the token for expiration and signature.
      */
     public boolean validateToken(String token) {
+        return validClaims(token) != null;
+    }
+
+    /**
+     * Claims of a token with a good signature that has not expired, or null otherwise.
+     */
+    public Claims validClaims(String token) {
         try {
             Claims claims = parseClaims(token);
-            return claims.getExpiration().after(new Date());
+            return claims.getExpiration().after(new Date()) ? claims : null;
         } catch (Exception e) {
             // Could log the exception here if needed
-            return false;
+            return null;
         }
     }
 
     /**
-     * Parse the Claims from the JWT token.
+     * Parse the Claims from the JWT token. A token verified recently is served from the cache
+     * (never past its exp), so repeat calls skip the HMAC check.
      */
     private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(SECRET_KEY)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        long start = System.nanoTime();
+        Claims claims = tokenCache.get(token);
+        if (claims != null) {
+            cacheHitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        }
+        try {
+            claims = PARSER.parseSignedClaims(token).getPayload();
+            tokenCache.put(token, claims);
+            return claims;
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer parseTimer(MeterRegistry registry, String cache) {
+        return Timer.builder("auth.jwt.parse")
+                .description("JWT signature check and claims parsing")
+                .tag("cache", cache)
+                .register(registry);
     }
 }
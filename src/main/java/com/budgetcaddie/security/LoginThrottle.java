@@ -0,0 +1,162 @@
+package com.budgetcaddie.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts failed logins per account and per client IP in fixed windows, so a guessing run is
+ * cut off before it reaches the user lookup or BCrypt.
+ *
+ * Counters live in fixed arrays of stripes rather than a map keyed by login: memory stays flat
+ * however many names an attacker tries, and every update is a single CAS. Each stripe packs the
+ * window number (high 32 bits) and the failure count (low 32 bits), so a stale window reads as
+ * zero without any cleanup.
+ *
+ * Keys that share a stripe share its count. Counts only ever grow within a window (a successful
+ * login does not clear them), so a collision can make the throttle stricter for both keys but
+ * never lets one key erase the other's failures. The stripe hash is seeded per process, so which
+ * keys collide cannot be worked out from the login names alone.
+ */
+@Component
+public class LoginThrottle {
+
+    public enum Reason {
+        ACCOUNT, IP
+    }
+
+    private final Stripes accounts;
+    private final Stripes addresses;
+    private final long windowMs;
+    private final LongSupplier clock;
+    private final Counter accountRejections;
+    private final Counter ipRejections;
+
+    @Autowired
+    public LoginThrottle(@Value("${auth.throttle.stripes:4096}") int stripes,
+            @Value("${auth.throttle.window-ms:900000}") long windowMs,
+            @Value("${auth.throttle.max-failures-per-account:10}") int maxPerAccount,
+            @Value("${auth.throttle.max-failures-per-ip:50}") int maxPerIp,
+            MeterRegistry registry) {
+        this(stripes, windowMs, maxPerAccount, maxPerIp, registry, System::currentTimeMillis,
+                new SecureRandom().nextLong());
+    }
+
+    LoginThrottle(int stripes, long windowMs, int maxPerAccount, int maxPerIp, MeterRegistry registry,
+            LongSupplier clock, long seed) {
+        this.accounts = new Stripes(stripes, maxPerAccount, seed);
+        this.addresses = new Stripes(stripes, maxPerIp, seed ^ 0x5DEECE66DL);
+        this.windowMs = windowMs;
+        this.clock = clock;
+        this.accountRejections = rejections(registry, "account");
+        this.ipRejections = rejections(registry, "ip");
+    }
+
+    /**
+     * Why this attempt must be refused without checking the password, or null if it may proceed.
+     */
+    public Reason check(String login, String ip) {
+        int window = window();
+        if (ip != null && addresses.failures(ip, window) >= addresses.limit) {
+            ipRejections.increment();
+            return Reason.IP;
+        }
+        if (login != null && accounts.failures(accountKey(login), window) >= accounts.limit) {
+            accountRejections.increment();
+            return Reason.ACCOUNT;
+        }
+        return null;
+    }
+
+    public void recordFailure(String login, String ip) {
+        int window = window();
+        if (ip != null) {
+            addresses.increment(ip, window);
+        }
+        if (login != null) {
+            accounts.increment(accountKey(login), window);
+        }
+    }
+
+    /**
+     * Seconds until the current window ends, for Retry-After.
+     */
+    public long retryAfterSeconds() {
+        long now = clock.getAsLong();
+        return Math.max(1, (windowMs - now % windowMs + 999) / 1000);
+    }
+
+    private int window() {
+        return (int) (clock.getAsLong() / windowMs);
+    }
+
+    private static String accountKey(String login) {
+        // Same account whichever case it was typed in, as in the login lookup
+        return login.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter rejections(MeterRegistry registry, String reason) {
+        return Counter.builder("auth.login.throttled")
+                .description("Login attempts refused before the password check")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private static final class Stripes {
+
+        private final AtomicLongArray slots;
+        private final int mask;
+        private final int limit;
+        private final long seed;
+
+        Stripes(int stripes, int limit, long seed) {
+            int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+            this.slots = new AtomicLongArray(size);
+            this.mask = size - 1;
+            this.limit = limit;
+            this.seed = seed;
+        }
+
+        int failures(String key, int window) {
+            long slot = slots.get(index(key));
+            return (int) (slot >>> 32) == window ? (int) slot : 0;
+        }
+
+        void increment(String key, int window) {
+            int i = index(key);
+            while (true) {
+                long slot = slots.get(i);
+                int count = (int) (slot >>> 32) == window ? (int) slot : 0;
+                if (count == Integer.MAX_VALUE) {
+                    return;
+                }
+                if (slots.compareAndSet(i, slot, pack(window, count + 1))) {
+                    return;
+                }
+            }
+        }
+
+        // Not String.hashCode: its collisions are fixed and easy to generate
+        private int index(String key) {
+            long h = seed;
+            for (int i = 0; i < key.length(); i++) {
+                h = (h ^ key.charAt(i)) * 0x9E3779B97F4A7C15L;
+                h ^= h >>> 29;
+            }
+            h ^= h >>> 32;
+            return (int) h & mask;
+        }
+
+        private static long pack(int window, int count) {
+            return ((long) window << 32) | (count & 0xFFFFFFFFL);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.budgetcaddie.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of tokens whose signature has already been verified.
+ *
+ * Entries are keyed by a SHA-256 digest of the token, so raw bearer tokens are never kept in
+ * the heap. An entry lives until the earlier of the token's own expiry and the cache TTL and is
+ * never served past either.
+ */
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private record TokenHash(long high, long low) {
+    }
+
+    private record Entry(Claims claims, long expiresAtMillis) {
+    }
+
+    private final long ttlMillis;
+    private final Map<TokenHash, Entry> entries;
+
+    public VerifiedTokenCache(int maxEntries, long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TokenHash, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Claims of a previously verified token, or null if it is unknown or no longer valid.
+     */
+    public Claims get(String token) {
+        TokenHash key = hash(token);
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (now >= entry.expiresAtMillis()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.claims();
+        }
+    }
+
+    public void put(String token, Claims claims) {
+        long now = System.currentTimeMillis();
+        long expiresAt = now + ttlMillis;
+        if (claims.getExpiration() != null) {
+            expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+        TokenHash key = hash(token);
+        synchronized (entries) {
+            entries.put(key, new Entry(claims, expiresAt));
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static TokenHash hash(String token) {
+        byte[] digest = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer buffer = ByteBuffer.wrap(digest);
+        return new TokenHash(buffer.getLong(), buffer.getLong());
+    }
+}
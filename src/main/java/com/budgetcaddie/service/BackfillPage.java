@@ -0,0 +1,11 @@
+package com.budgetcaddie.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * One /transactions/get page: Plaid's raw transaction objects plus the reported total.
+ */
+public record BackfillPage(int offset, int totalTransactions, List<JsonNode> transactions) {
+}
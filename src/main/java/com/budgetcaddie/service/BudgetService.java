@@ -0,0 +1,95 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.model.Budget;
+import com.budgetcaddie.model.BudgetPeriod;
+import com.budgetcaddie.money.Money;
+import com.budgetcaddie.payload.BudgetStatus;
+import com.budgetcaddie.repository.BudgetRepository;
+import com.budgetcaddie.repository.CategorySpendRepository;
+import com.budgetcaddie.repository.CategorySpendRepository.SpendTotal;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Evaluates budgets against the category_month_spend rollup. A user's budgets cost two queries
+ * (budgets, then rollup rows) however many transactions sit behind them.
+ *
+ * Spend is summed exactly in minor units and compared with the limit in the budget's own
+ * currency. Rollup rows in any other currency are not counted against it.
+ */
+@Service
+public class BudgetService {
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private CategorySpendRepository categorySpendRepository;
+
+    @Transactional(readOnly = true)
+    public List<BudgetStatus> evaluate(Long userId, LocalDate today) {
+        List<Budget> budgets = budgetRepository.findByUserIdWithAccounts(userId);
+        if (budgets.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> accountIds = new HashSet<>();
+        Set<String> categories = new HashSet<>();
+        LocalDate from = null;
+        LocalDate to = null;
+        for (Budget budget : budgets) {
+            accountIds.addAll(budget.getAccountIds());
+            categories.add(budget.getCategory());
+            LocalDate start = periodStart(budget.getPeriod(), today);
+            LocalDate lastMonth = periodEnd(budget.getPeriod(), today).withDayOfMonth(1);
+            from = from == null || start.isBefore(from) ? start : from;
+            to = to == null || lastMonth.isAfter(to) ? lastMonth : to;
+        }
+
+        List<SpendTotal> totals = categorySpendRepository.findTotals(accountIds, categories, from, to);
+
+        List<BudgetStatus> statuses = new ArrayList<>(budgets.size());
+        for (Budget budget : budgets) {
+            LocalDate start = periodStart(budget.getPeriod(), today);
+            LocalDate end = periodEnd(budget.getPeriod(), today);
+            Money limit = budget.getLimit();
+            Money spent = new Money(0, limit.currencyCode());
+            for (SpendTotal total : totals) {
+                if (total.key().category().equals(budget.getCategory())
+                        && budget.getAccountIds().contains(total.key().accountId())
+                        && !total.key().month().isBefore(start)
+                        && !total.key().month().isAfter(end)
+                        && limit.currencyCode().equals(total.currencyCode())) {
+                    spent = spent.plus(new Money(total.totalMinor(), total.currencyCode()));
+                }
+            }
+            statuses.add(new BudgetStatus(budget.getId(), budget.getCategory(), budget.getPeriod(), start, end,
+                    limit.currencyCode(), limit.toDecimal(), spent.toDecimal(),
+                    Money.toDecimal(Math.subtractExact(limit.minorUnits(), spent.minorUnits()), limit.currencyCode()),
+                    spent.minorUnits() > limit.minorUnits()));
+        }
+        return statuses;
+    }
+
+    static LocalDate periodStart(BudgetPeriod period, LocalDate today) {
+        return switch (period) {
+            case MONTHLY -> today.withDayOfMonth(1);
+            case YEARLY -> today.withDayOfYear(1);
+        };
+    }
+
+    static LocalDate periodEnd(BudgetPeriod period, LocalDate today) {
+        return switch (period) {
+            case MONTHLY -> today.withDayOfMonth(today.lengthOfMonth());
+            case YEARLY -> today.withDayOfYear(today.lengthOfYear());
+        };
+    }
+}
@@ -0,0 +1,169 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.model.Goal;
+import com.budgetcaddie.model.GoalForecast;
+import com.budgetcaddie.model.Transaction;
+import com.budgetcaddie.money.Money;
+import com.budgetcaddie.repository.CategorySpendRepository;
+import com.budgetcaddie.repository.GoalRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Projects goal completion dates from the linked accounts' recent net cash flow.
+ *
+ * Forecasts are stored on the goal and recomputed only when a goal is saved or when a sync
+ * page touches one of its accounts; reads just return the stored values. Cash flow comes from
+ * the category_month_spend rollup, so a recompute reads a few rows per account. Amounts stay in
+ * exact minor units throughout; only the day count of the projection is rounded (up).
+ *
+ * A goal's accounts must all be in the goal's currency. Saving a goal whose accounts have
+ * activity in another currency is rejected; if a sync later brings such activity in, the goal
+ * keeps an empty forecast instead of a sum of unlike units.
+ */
+@Service
+public class GoalForecastService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoalForecastService.class);
+
+    private static final BigDecimal DAYS_PER_MONTH = new BigDecimal("30.4375");
+
+    @Value("${goals.forecast.history-months:6}")
+    private int historyMonths;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private CategorySpendRepository categorySpendRepository;
+
+    /**
+     * Runs after {@link SpendRollupService} so it sees this page's rollup rows.
+     */
+    @EventListener
+    @Order(SpendRollupService.ORDER + 1)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Set<String> accountIds = new HashSet<>();
+        addAccounts(event.previous(), accountIds);
+        addAccounts(event.current(), accountIds);
+        if (accountIds.isEmpty()) {
+            return;
+        }
+        List<Goal> affected = goalRepository.findLinkedToAnyAccount(accountIds);
+        if (affected.isEmpty()) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        Map<String, Money> netByAccount = netByAccount(affected, today);
+        Instant now = Instant.now();
+        for (Goal goal : affected) {
+            try {
+                refresh(goal, netByAccount, today, now);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Goal {} links accounts outside its currency {}: {}", goal.getId(),
+                        goal.getCurrencyCode(), e.getMessage());
+                goal.setForecast(emptyForecast(now));
+            }
+        }
+        goalRepository.saveAll(affected);
+    }
+
+    /**
+     * Refreshes the forecast on each goal in place. Does not save.
+     *
+     * @throws IllegalArgumentException if a goal's accounts have activity in another currency
+     */
+    public void recompute(Collection<Goal> goals, LocalDate today) {
+        Map<String, Money> netByAccount = netByAccount(goals, today);
+        Instant now = Instant.now();
+        for (Goal goal : goals) {
+            refresh(goal, netByAccount, today, now);
+        }
+    }
+
+    private Map<String, Money> netByAccount(Collection<Goal> goals, LocalDate today) {
+        Set<String> accountIds = new HashSet<>();
+        for (Goal goal : goals) {
+            accountIds.addAll(goal.getAccountIds());
+        }
+
+        // Whole months only; the current month is still in progress
+        LocalDate to = today.withDayOfMonth(1);
+        LocalDate from = to.minusMonths(historyMonths);
+        return categorySpendRepository.findNetByAccount(accountIds, from, to);
+    }
+
+    private void refresh(Goal goal, Map<String, Money> netByAccount, LocalDate today, Instant now) {
+        // plus() refuses to add another currency to the goal's
+        Money net = new Money(0, goal.getCurrencyCode());
+        for (String accountId : goal.getAccountIds()) {
+            Money accountNet = netByAccount.get(accountId);
+            if (accountNet != null) {
+                net = net.plus(accountNet);
+            }
+        }
+        // Plaid amounts are positive for money leaving the account, so saving is a negative sum
+        long savedOverHistory = Math.negateExact(net.minorUnits());
+        long monthlySavings = BigDecimal.valueOf(savedOverHistory)
+                .divide(BigDecimal.valueOf(historyMonths), 0, RoundingMode.HALF_UP)
+                .longValueExact();
+
+        GoalForecast forecast = goal.getForecast() != null ? goal.getForecast() : new GoalForecast();
+        forecast.setMonthlySavings(new Money(monthlySavings, goal.getCurrencyCode()));
+        forecast.setProjectedCompletionDate(projectCompletion(goal, savedOverHistory, historyMonths, today));
+        forecast.setOnTrack(forecast.getProjectedCompletionDate() != null
+                && !forecast.getProjectedCompletionDate().isAfter(goal.getTargetDate()));
+        forecast.setComputedAt(now);
+        goal.setForecast(forecast);
+    }
+
+    private static GoalForecast emptyForecast(Instant now) {
+        GoalForecast forecast = new GoalForecast();
+        forecast.setOnTrack(false);
+        forecast.setComputedAt(now);
+        return forecast;
+    }
+
+    /**
+     * @param savedMinor net inflow over the last {@code months} whole months, in the goal's minor units
+     */
+    static LocalDate projectCompletion(Goal goal, long savedMinor, int months, LocalDate today) {
+        long remaining = Math.subtractExact(goal.getTarget().minorUnits(), goal.getSaved().minorUnits());
+        if (remaining <= 0) {
+            return today;
+        }
+        if (savedMinor <= 0) {
+            return null;
+        }
+        // remaining / (saved / months) months, in days
+        long days = BigDecimal.valueOf(remaining)
+                .multiply(BigDecimal.valueOf(months))
+                .multiply(DAYS_PER_MONTH)
+                .divide(BigDecimal.valueOf(savedMinor), 0, RoundingMode.CEILING)
+                .longValueExact();
+        return today.plusDays(days);
+    }
+
+    private static void addAccounts(List<Transaction> rows, Set<String> accountIds) {
+        for (Transaction tx : rows) {
+            accountIds.add(tx.getAccountId());
+        }
+    }
+}
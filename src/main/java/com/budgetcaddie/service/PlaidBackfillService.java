@@ -0,0 +1,207 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.plaid.PlaidApiException;
+import com.budgetcaddie.plaid.PlaidClient;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Offset-paged /transactions/get backfill over the last two years of history.
+ *
+ * The first page reveals total_transactions, after which every remaining offset is known.
+ * Those pages are fanned out to a shared bounded pool, up to {@code parallelism} in flight per
+ * backfill, and consumed strictly in offset order. A page that fails with a 429, a 5xx or an
+ * I/O error is retried on its own by {@link PlaidClient}.
+ */
+@Service
+public class PlaidBackfillService {
+
+    public static final int PAGE_SIZE = 500; // Plaid max per call
+
+    @Value("${plaid.backfill.threads:16}")
+    private int threads;
+
+    @Value("${plaid.backfill.max-parallelism:8}")
+    private int maxParallelism;
+
+    @Autowired
+    private PlaidClient plaidClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ExecutorService pageExecutor;
+
+    @PostConstruct
+    public void start() {
+        pageExecutor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("plaid-backfill-"));
+    }
+
+    @PreDestroy
+    public void stop() {
+        pageExecutor.shutdownNow();
+    }
+
+    /**
+     * Fetches one page, reading the response stream straight into the page's nodes.
+     */
+    public BackfillPage fetchPage(String accessToken, LocalDate startDate, LocalDate endDate, int offset) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("access_token", accessToken);
+        request.put("start_date", startDate.toString());
+        request.put("end_date", endDate.toString());
+
+        Map<String, Object> options = new HashMap<>();
+        options.put("count", PAGE_SIZE);
+        options.put("offset", offset);
+        request.put("options", options);
+
+        return plaidClient.post("/transactions/get", request, response -> readPage(offset, response.getBody()));
+    }
+
+    /**
+     * Fetches the whole history with up to {@code parallelism} pages in flight and returns the
+     * pages' transactions in offset order.
+     */
+    public BackfillPage fetchAll(String accessToken, int parallelism) {
+        List<JsonNode> transactions = new ArrayList<>();
+        int[] total = new int[1];
+        forEachPage(accessToken, parallelism, page -> {
+            total[0] = page.totalTransactions();
+            transactions.addAll(page.transactions());
+        });
+        return new BackfillPage(0, total[0], transactions);
+    }
+
+    /**
+     * Writes the whole history to {@code out} as NDJSON, one Plaid transaction per line.
+     *
+     * Pages are written in order as they complete while the following ones are already being
+     * fetched, so memory is bounded by the pages in flight however long the history is.
+     *
+     * @return the number of transactions written
+     */
+    public int streamAsNdjson(String accessToken, int parallelism, OutputStream out) throws IOException {
+        int[] written = new int[1];
+        try {
+            forEachPage(accessToken, parallelism, page -> {
+                try {
+                    for (JsonNode transaction : page.transactions()) {
+                        out.write(objectMapper.writeValueAsBytes(transaction));
+                        out.write('\n');
+                    }
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                written[0] += page.transactions().size();
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return written[0];
+    }
+
+    /**
+     * Hands every page to {@code consumer} in offset order, keeping up to {@code parallelism}
+     * later pages in flight. If the consumer throws, pages not yet started are cancelled.
+     */
+    private void forEachPage(String accessToken, int parallelism, Consumer<BackfillPage> consumer) {
+        LocalDate endDate = LocalDate.now();
+        LocalDate startDate = endDate.minusYears(2);
+        int window = Math.max(1, Math.min(parallelism, maxParallelism));
+
+        BackfillPage first = fetchPage(accessToken, startDate, endDate, 0);
+        int total = first.totalTransactions();
+
+        Deque<CompletableFuture<BackfillPage>> inFlight = new ArrayDeque<>(window);
+        int nextOffset = first.transactions().isEmpty() ? total : PAGE_SIZE;
+        try {
+            while (inFlight.size() < window && nextOffset < total) {
+                inFlight.add(submit(accessToken, startDate, endDate, nextOffset));
+                nextOffset += PAGE_SIZE;
+            }
+            consumer.accept(first);
+
+            while (!inFlight.isEmpty()) {
+                BackfillPage page = await(inFlight.poll());
+                if (nextOffset < total) {
+                    inFlight.add(submit(accessToken, startDate, endDate, nextOffset));
+                    nextOffset += PAGE_SIZE;
+                }
+                consumer.accept(page);
+            }
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private CompletableFuture<BackfillPage> submit(String accessToken, LocalDate startDate, LocalDate endDate,
+            int offset) {
+        return CompletableFuture.supplyAsync(
+                () -> fetchPage(accessToken, startDate, endDate, offset), pageExecutor);
+    }
+
+    private BackfillPage readPage(int offset, InputStream body) throws IOException {
+        int total = 0;
+        List<JsonNode> transactions = new ArrayList<>(PAGE_SIZE);
+
+        try (JsonParser p = objectMapper.getFactory().createParser(body)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object from Plaid");
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.currentName();
+                p.nextToken();
+                if ("total_transactions".equals(field)) {
+                    total = p.getValueAsInt(0);
+                } else if ("transactions".equals(field) && p.currentToken() == JsonToken.START_ARRAY) {
+                    while (p.nextToken() == JsonToken.START_OBJECT) {
+                        transactions.add(objectMapper.readTree(p));
+                    }
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+        return new BackfillPage(offset, total, transactions);
+    }
+
+    private static BackfillPage await(CompletableFuture<BackfillPage> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof PlaidApiException plaidError) {
+                throw plaidError;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.model.PlaidAccount;
+import com.budgetcaddie.model.PlaidItem;
+import com.budgetcaddie.repository.PlaidAccountRepository;
+import com.budgetcaddie.repository.PlaidItemRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records which user owns a linked Plaid item and its accounts.
+ */
+@Service
+public class PlaidItemService {
+
+    @Autowired
+    private PlaidItemRepository itemRepository;
+
+    @Autowired
+    private PlaidAccountRepository accountRepository;
+
+    /**
+     * Stores (or, when the same item is re-linked, updates) the item for {@code userId} along
+     * with the accounts from an /accounts/get response.
+     *
+     * @throws IllegalStateException if the item or one of its accounts already belongs to another user
+     */
+    @Transactional
+    public PlaidItem link(Long userId, String itemId, String accessToken, JsonNode accountsResponse) {
+        PlaidItem item = itemRepository.findByItemId(itemId).orElseGet(PlaidItem::new);
+        if (item.getUserId() != null && !item.getUserId().equals(userId)) {
+            throw new IllegalStateException("Plaid item is linked to another user");
+        }
+        item.setUserId(userId);
+        item.setItemId(itemId);
+        item.setAccessToken(accessToken);
+        item.setInstitutionId(accountsResponse.path("item").path("institution_id").asText(null));
+        item = itemRepository.save(item);
+
+        for (JsonNode a : accountsResponse.path("accounts")) {
+            String accountId = a.path("account_id").asText();
+            PlaidAccount account = accountRepository.findByAccountId(accountId).orElseGet(PlaidAccount::new);
+            if (account.getUserId() != null && !account.getUserId().equals(userId)) {
+                throw new IllegalStateException("Plaid account is linked to another user");
+            }
+            account.setPlaidItemId(item.getId());
+            account.setUserId(userId);
+            account.setAccountId(accountId);
+            account.setName(a.path("name").asText(null));
+            account.setMask(a.path("mask").asText(null));
+            account.setType(a.path("type").asText(null));
+            account.setSubtype(a.path("subtype").asText(null));
+            accountRepository.save(account);
+        }
+        return item;
+    }
+}
@@ -0,0 +1,145 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.model.PlaidItem;
+import com.budgetcaddie.repository.PlaidItemRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Background refresh of every linked item.
+ *
+ * Items are synced concurrently on a bounded worker pool. Start times are spread across a
+ * window so a sweep does not hit Plaid as one burst: each item gets its own slot in queue order
+ * and a random start within that slot, so the stalest items still go first. Each run is capped
+ * at a page budget: an item with a long backlog goes to the back of the queue after its budget
+ * instead of holding a worker while everyone else waits.
+ */
+@Component
+public class PlaidSyncScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaidSyncScheduler.class);
+
+    @Value("${plaid.sync.concurrency:16}")
+    private int concurrency;
+
+    @Value("${plaid.sync.jitter-ms:30000}")
+    private long jitterMs;
+
+    @Value("${plaid.sync.max-pages-per-run:20}")
+    private int maxPagesPerRun;
+
+    @Autowired
+    private PlaidItemRepository itemRepository;
+
+    @Autowired
+    private PlaidSyncService syncService;
+
+    @Autowired
+    private SyncProgressRegistry progressRegistry;
+
+    private ExecutorService workers;
+    private ScheduledExecutorService dispatcher;
+
+    @PostConstruct
+    public void start() {
+        workers = Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory("plaid-sync-"));
+        dispatcher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("plaid-sync-dispatch-"));
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    @Scheduled(cron = "${plaid.sync.cron:0 0 3 * * *}")
+    public void nightlyRefresh() {
+        refreshAll();
+    }
+
+    /**
+     * Queues every linked item, stalest first.
+     *
+     * @return how many items were queued (items already queued or running are skipped)
+     */
+    public int refreshAll() {
+        return refresh(itemRepository.findAll());
+    }
+
+    /**
+     * Queues the given items, stalest first, the same way as the nightly sweep.
+     *
+     * @return how many items were queued (items already queued or running are skipped)
+     */
+    public int refresh(List<PlaidItem> linkedItems) {
+        List<PlaidItem> items = new ArrayList<>(linkedItems);
+        items.sort(Comparator.comparing(
+                (PlaidItem item) -> progressRegistry.forItem(item.getAccessToken()).getLagSeconds(),
+                Comparator.nullsFirst(Comparator.<Long>reverseOrder())));
+
+        int queued = 0;
+        for (int i = 0; i < items.size(); i++) {
+            if (enqueue(items.get(i).getAccessToken(), startDelay(i, items.size()))) {
+                queued++;
+            }
+        }
+        logger.info("Plaid sync sweep queued {} of {} items", queued, items.size());
+        return queued;
+    }
+
+    /**
+     * Delay for the {@code position}-th of {@code count} items: a random point in its own
+     * 1/count share of the jitter window, so delays rise with the position.
+     */
+    long startDelay(int position, int count) {
+        if (jitterMs <= 0) {
+            return 0;
+        }
+        long slotStart = jitterMs * position / count;
+        long slotEnd = jitterMs * (position + 1) / count;
+        return slotEnd > slotStart ? ThreadLocalRandom.current().nextLong(slotStart, slotEnd) : slotStart;
+    }
+
+    private boolean enqueue(String accessToken, long delayMs) {
+        if (!progressRegistry.forItem(accessToken).tryQueue()) {
+            return false;
+        }
+        dispatcher.schedule(() -> workers.execute(() -> run(accessToken)), delayMs, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    private void run(String accessToken) {
+        try {
+            SyncResult result = syncService.syncItem(accessToken, maxPagesPerRun);
+            if (!result.caughtUp()) {
+                // Page budget used up: yield the worker and rejoin at the back of the queue
+                enqueue(accessToken, 0);
+            }
+        } catch (SyncInProgressException e) {
+            // An on-demand job holds the item and syncs it to the end; this run is not needed
+            logger.debug("Skipping scheduled sync: {}", e.getMessage());
+        } catch (Exception e) {
+            logger.warn("Plaid sync failed for item {}: {}",
+                    progressRegistry.forItem(accessToken).getItem(), e.getMessage());
+        }
+    }
+}
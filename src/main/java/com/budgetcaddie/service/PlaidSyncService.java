@@ -0,0 +1,144 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.categorization.CategorizationEngine;
+import com.budgetcaddie.model.PlaidItem;
+import com.budgetcaddie.plaid.PlaidClient;
+import com.budgetcaddie.plaid.PlaidTransactionParser;
+import com.budgetcaddie.plaid.SyncPage;
+import com.budgetcaddie.repository.PlaidCursorRepository;
+import com.budgetcaddie.repository.PlaidItemRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Runs the /transactions/sync cursor loop for one item. Shared by the sync endpoint and the
+ * background scheduler.
+ */
+@Service
+public class PlaidSyncService {
+
+    @Autowired
+    private PlaidClient plaidClient;
+
+    @Autowired
+    private PlaidTransactionParser parser;
+
+    @Autowired
+    private PlaidItemRepository itemRepository;
+
+    @Autowired
+    private PlaidCursorRepository cursorRepository;
+
+    @Autowired
+    private CategorizationEngine categorizationEngine;
+
+    @Autowired
+    private TransactionIngestionService ingestionService;
+
+    @Autowired
+    private SyncProgressRegistry progressRegistry;
+
+    @Autowired
+    private SyncMetrics metrics;
+
+    /**
+     * Syncs the item until Plaid reports no more pages.
+     */
+    public SyncResult syncItem(String accessToken) throws Exception {
+        return syncItem(accessToken, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Syncs at most {@code maxPages} pages. Every page commits its cursor, so a run that stops
+     * at the budget resumes exactly where it left off next time.
+     *
+     * @throws IllegalArgumentException if no linked item has this access token
+     */
+    public SyncResult syncItem(String accessToken, int maxPages) throws Exception {
+        return syncItem(accessToken, maxPages, (result, cursor) -> {
+        });
+    }
+
+    /**
+     * Like {@link #syncItem(String, int)}, calling {@code onPage} with each page's row counts and
+     * the cursor it committed.
+     *
+     * @throws SyncInProgressException if a scheduled run or a sync job is already syncing the item
+     */
+    public SyncResult syncItem(String accessToken, int maxPages, BiConsumer<SyncPageResult, String> onPage)
+            throws Exception {
+        SyncProgress progress = progressRegistry.forItem(accessToken);
+        PlaidItem item;
+        boolean started = false;
+        try {
+            item = itemRepository.findByAccessToken(accessToken)
+                    .orElseThrow(() -> new IllegalArgumentException("No linked Plaid item for this access token"));
+            if (!progress.tryStart()) {
+                throw new SyncInProgressException(progress.getItem());
+            }
+            started = true;
+        } finally {
+            // A queued run that never got to start must not leave the item QUEUED forever
+            if (!started) {
+                progress.releaseQueued();
+            }
+        }
+        long runStart = System.nanoTime();
+
+        try {
+            String cursor = cursorRepository.findByPlaidItemId(item.getId())
+                    .map(c -> c.getCursor())
+                    .orElse(null);
+
+            boolean hasMore = true;
+            int pages = 0;
+            int countNew = 0;
+            int countModified = 0;
+            int countRemoved = 0;
+
+            while (hasMore && pages < maxPages) {
+                Map<String, Object> req = new HashMap<>();
+                req.put("access_token", accessToken);
+                if (cursor != null)
+                    req.put("cursor", cursor);
+
+                // Parsed straight off the response stream; no String or JsonNode copy of the page
+                SyncPage page = metrics.phase(SyncMetrics.Phase.FETCH).recordCallable(() -> plaidClient.post(
+                        "/transactions/sync", req, response -> parser.parsePage(response.getBody())));
+
+                hasMore = page.hasMore();
+                cursor = page.nextCursor();
+
+                metrics.phase(SyncMetrics.Phase.CATEGORIZE).record(() -> {
+                    categorizationEngine.apply(item.getUserId(), page.added());
+                    categorizationEngine.apply(item.getUserId(), page.modified());
+                });
+
+                // All three deltas are applied as bulk statements, committed together with the cursor
+                String pageCursor = cursor;
+                SyncPageResult result = metrics.phase(SyncMetrics.Phase.STORE).record(() -> ingestionService
+                        .applyPage(item, page.added(), page.modified(), page.removed(), pageCursor));
+                countNew += result.added();
+                countModified += result.modified();
+                countRemoved += result.removed();
+                pages++;
+                progress.recordPage(result);
+                metrics.recordPage(result);
+                onPage.accept(result, cursor);
+            }
+
+            progress.succeed(!hasMore);
+            metrics.recordRun(System.nanoTime() - runStart, hasMore ? "partial" : "complete");
+            return new SyncResult(pages, countNew, countModified, countRemoved, !hasMore);
+        } catch (Exception e) {
+            progress.fail(e.getMessage());
+            metrics.recordRun(System.nanoTime() - runStart, "error");
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.model.Transaction;
+import com.budgetcaddie.repository.CategorySpendRepository;
+import com.budgetcaddie.repository.MerchantSpendKey;
+import com.budgetcaddie.repository.MerchantSpendRepository;
+import com.budgetcaddie.repository.SpendKey;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the monthly spend rollups (per category and per merchant) in step with sync. Runs
+ * synchronously in the ingestion transaction, so the rollups commit (or roll back) together
+ * with the rows.
+ */
+@Service
+public class SpendRollupService {
+
+    /** Listeners that read the rollups order themselves after this. */
+    public static final int ORDER = 0;
+
+    @Autowired
+    private CategorySpendRepository categorySpendRepository;
+
+    @Autowired
+    private MerchantSpendRepository merchantSpendRepository;
+
+    @EventListener
+    @Order(ORDER)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Set<SpendKey> categoryKeys = new LinkedHashSet<>();
+        Set<MerchantSpendKey> merchantKeys = new LinkedHashSet<>();
+        addKeys(event.previous(), categoryKeys, merchantKeys);
+        addKeys(event.current(), categoryKeys, merchantKeys);
+        categorySpendRepository.refresh(event.userId(), categoryKeys);
+        merchantSpendRepository.refresh(event.userId(), merchantKeys);
+    }
+
+    /**
+     * Rebuilds both rollups from scratch, for backfills or after rows were changed outside sync.
+     *
+     * @param accountIds accounts to rebuild, or empty for every account
+     */
+    @Transactional
+    public void rebuild(Collection<String> accountIds) {
+        categorySpendRepository.rebuild(accountIds);
+        merchantSpendRepository.rebuild(accountIds);
+    }
+
+    private static void addKeys(List<Transaction> rows, Set<SpendKey> categoryKeys,
+            Set<MerchantSpendKey> merchantKeys) {
+        for (Transaction tx : rows) {
+            if (tx.getDate() == null) {
+                continue;
+            }
+            categoryKeys.add(new SpendKey(tx.getAccountId(), tx.getDate().withDayOfMonth(1),
+                    tx.getCategory() != null ? tx.getCategory() : CategorySpendRepository.UNCATEGORIZED));
+            merchantKeys.add(new MerchantSpendKey(tx.getAccountId(), tx.getDate().withDayOfMonth(1),
+                    tx.getMerchantName() != null ? tx.getMerchantName() : tx.getName()));
+        }
+    }
+}
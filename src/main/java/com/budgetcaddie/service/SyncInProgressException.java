@@ -0,0 +1,11 @@
+package com.budgetcaddie.service;
+
+/**
+ * Thrown by {@link PlaidSyncService#syncItem} when another run already holds the item's cursor.
+ */
+public class SyncInProgressException extends IllegalStateException {
+
+    public SyncInProgressException(String item) {
+        super("A sync of item " + item + " is already running");
+    }
+}
@@ -0,0 +1,155 @@
+package com.budgetcaddie.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One submitted sync of one Plaid item, as reported by GET /api/plaid/sync/jobs/{id}. Counters
+ * and the cursor advance as each page commits.
+ */
+public class SyncJob {
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    private final String id;
+    private final String item;
+    private final Long userId;
+    private final Instant submittedAt = Instant.now();
+    private final AtomicBoolean followUpRequested = new AtomicBoolean();
+
+    private volatile State state = State.QUEUED;
+    private volatile int passes;
+    private volatile int pagesFetched;
+    private volatile int rowsAdded;
+    private volatile int rowsModified;
+    private volatile int rowsRemoved;
+    private volatile String cursor;
+    private volatile Boolean caughtUp;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public SyncJob(String id, String item, Long userId) {
+        this.id = id;
+        this.item = item;
+        this.userId = userId;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    // Set when more updates were announced while a pass was already fetching
+    void requestFollowUp() {
+        followUpRequested.set(true);
+    }
+
+    boolean consumeFollowUp() {
+        return followUpRequested.getAndSet(false);
+    }
+
+    void startPass() {
+        passes++;
+    }
+
+    // Only the job's worker thread writes, so the volatile increments are not racy
+    void recordPage(SyncPageResult page, String nextCursor) {
+        pagesFetched++;
+        rowsAdded += page.added();
+        rowsModified += page.modified();
+        rowsRemoved += page.removed();
+        cursor = nextCursor;
+    }
+
+    void succeed(boolean caughtUp) {
+        this.caughtUp = caughtUp;
+        finishedAt = Instant.now();
+        state = State.SUCCEEDED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+
+    public boolean isFinished() {
+        State current = state;
+        return current == State.SUCCEEDED || current == State.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Plaid's item_id; never the access token.
+     */
+    public String getItem() {
+        return item;
+    }
+
+    /**
+     * Owner of the item; jobs are only ever shown to this user.
+     */
+    @JsonIgnore
+    public Long getUserId() {
+        return userId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Cursor loops run so far; more than one when updates arrived while the job was running.
+     */
+    public int getPasses() {
+        return passes;
+    }
+
+    public int getPagesFetched() {
+        return pagesFetched;
+    }
+
+    public int getRowsAdded() {
+        return rowsAdded;
+    }
+
+    public int getRowsModified() {
+        return rowsModified;
+    }
+
+    public int getRowsRemoved() {
+        return rowsRemoved;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public Boolean getCaughtUp() {
+        return caughtUp;
+    }
+
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,203 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.model.PlaidItem;
+import com.budgetcaddie.repository.PlaidItemRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs on-demand item syncs as background jobs so the HTTP request returns immediately.
+ *
+ * Jobs run on their own bounded pool, separate from Tomcat and from the nightly sweep. At most
+ * one job per item is active: a submission while one is queued or running returns that job
+ * instead of starting another. A submission while the job is already running also asks it for
+ * one more pass from the stored cursor when the current one ends, so updates Plaid announced
+ * mid-run are not left for the next trigger. Finished jobs stay visible for {@code retention-ms}.
+ *
+ * A job that finds the item held by a scheduled run waits for it instead of running alongside;
+ * two cursor loops on one item could move the stored cursor backwards.
+ */
+@Service
+public class SyncJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncJobService.class);
+
+    @Value("${plaid.sync.jobs.threads:4}")
+    private int threads;
+
+    @Value("${plaid.sync.jobs.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${plaid.sync.jobs.retention-ms:3600000}")
+    private long retentionMs;
+
+    @Value("${plaid.sync.jobs.busy-retry-ms:1000}")
+    private long busyRetryMs;
+
+    @Autowired
+    private PlaidItemRepository itemRepository;
+
+    @Autowired
+    private PlaidSyncService syncService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Queued or running job per PlaidItem id
+    private final Map<Long, SyncJob> activeByItem = new ConcurrentHashMap<>();
+    private final Map<String, SyncJob> jobsById = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("plaid-sync-job-"));
+        Gauge.builder("plaid.sync.jobs", executor, e -> e.getQueue().size())
+                .description("Submitted sync jobs by state")
+                .tag("state", "queued")
+                .register(meterRegistry);
+        Gauge.builder("plaid.sync.jobs", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Submitted sync jobs by state")
+                .tag("state", "running")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a full sync of the item, or returns the item's job that is already queued or
+     * running.
+     *
+     * @throws IllegalArgumentException if no linked item has this access token
+     * @throws RejectedExecutionException if the job queue is full
+     */
+    public SyncJob submit(String accessToken) {
+        PlaidItem item = itemRepository.findByAccessToken(accessToken)
+                .orElseThrow(() -> new IllegalArgumentException("No linked Plaid item for this access token"));
+        return submit(item);
+    }
+
+    /**
+     * {@link #submit(String)} for an item already loaded.
+     */
+    public SyncJob submit(PlaidItem item) {
+        pruneFinished();
+
+        // compute() serializes with the worker's hand-off in run(), so a follow-up request is
+        // either seen by the worker or lands in a fresh job, never lost in between
+        SyncJob[] created = new SyncJob[1];
+        SyncJob job = activeByItem.compute(item.getId(), (id, existing) -> {
+            if (existing != null) {
+                // A queued job has not fetched anything yet and will see these updates anyway
+                if (existing.getState() == SyncJob.State.RUNNING) {
+                    existing.requestFollowUp();
+                }
+                return existing;
+            }
+            return created[0] = new SyncJob(UUID.randomUUID().toString(), item.getItemId(), item.getUserId());
+        });
+        if (created[0] == null) {
+            return job;
+        }
+
+        jobsById.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, item.getId(), item.getAccessToken()));
+        } catch (RejectedExecutionException e) {
+            activeByItem.remove(item.getId(), job);
+            jobsById.remove(job.getId());
+            throw e;
+        }
+        return job;
+    }
+
+    public Optional<SyncJob> find(String jobId) {
+        return Optional.ofNullable(jobsById.get(jobId));
+    }
+
+    /**
+     * The job if it exists and belongs to {@code userId}.
+     */
+    public Optional<SyncJob> find(String jobId, Long userId) {
+        return find(jobId).filter(job -> userId.equals(job.getUserId()));
+    }
+
+    private void run(SyncJob job, Long plaidItemId, String accessToken) {
+        job.start();
+        boolean caughtUp = false;
+        String error = null;
+        boolean again;
+        do {
+            job.startPass();
+            try {
+                caughtUp = runPass(job, accessToken);
+            } catch (Exception e) {
+                logger.warn("Sync job {} failed for item {}: {}", job.getId(), job.getItem(), e.getMessage());
+                error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            }
+
+            // Either run another pass or leave the active slot, atomically with submit(). The
+            // slot is left before reporting a final state, so a submission that sees the
+            // finished job can never be collapsed into it.
+            boolean[] rerun = new boolean[1];
+            boolean failed = error != null;
+            activeByItem.computeIfPresent(plaidItemId, (id, active) -> {
+                if (active != job) {
+                    return active;
+                }
+                rerun[0] = job.consumeFollowUp() && !failed;
+                return rerun[0] ? active : null;
+            });
+            again = rerun[0];
+        } while (again);
+
+        if (error == null) {
+            job.succeed(caughtUp);
+        } else {
+            job.fail(error);
+        }
+    }
+
+    private boolean runPass(SyncJob job, String accessToken) throws Exception {
+        while (true) {
+            try {
+                return syncService.syncItem(accessToken, Integer.MAX_VALUE, job::recordPage).caughtUp();
+            } catch (SyncInProgressException e) {
+                // A scheduled run holds the item and stops at its page budget; wait it out, then
+                // continue from the cursor it committed
+                Thread.sleep(busyRetryMs);
+            }
+        }
+    }
+
+    private void pruneFinished() {
+        Instant cutoff = Instant.now().minusMillis(retentionMs);
+        jobsById.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,92 @@
+package com.budgetcaddie.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the /transactions/sync pipeline.
+ *
+ * {@code plaid.sync.phase} splits each page into fetch (Plaid call plus streaming parse, which
+ * are interleaved), categorize and store (the database transaction). Compared with
+ * {@code plaid.requests}, which stops at response headers, it tells Plaid latency, body
+ * transfer/parsing and database writes apart.
+ *
+ * Items are not a tag: their number grows with users. Per-item counts and lag stay on
+ * /api/plaid/sync/status.
+ */
+@Component
+public class SyncMetrics {
+
+    public enum Phase {
+        FETCH, CATEGORIZE, STORE
+    }
+
+    private final MeterRegistry registry;
+    private final Timer[] phaseTimers;
+    private final Counter pages;
+    private final Counter added;
+    private final Counter modified;
+    private final Counter removed;
+    private final Counter dedupeHits;
+
+    public SyncMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.phaseTimers = new Timer[Phase.values().length];
+        for (Phase phase : Phase.values()) {
+            phaseTimers[phase.ordinal()] = Timer.builder("plaid.sync.phase")
+                    .description("Time spent per sync page in each pipeline phase")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        this.pages = Counter.builder("plaid.sync.pages").description("Sync pages applied").register(registry);
+        this.added = rows("added");
+        this.modified = rows("modified");
+        this.removed = rows("removed");
+        this.dedupeHits = Counter.builder("plaid.sync.dedupe.hits")
+                .description("Added rows skipped because they were already stored or repeated in the page")
+                .register(registry);
+    }
+
+    public Timer phase(Phase phase) {
+        return phaseTimers[phase.ordinal()];
+    }
+
+    public void recordPage(SyncPageResult result) {
+        pages.increment();
+        added.increment(result.added());
+        modified.increment(result.modified());
+        removed.increment(result.removed());
+    }
+
+    public void recordDedupeHits(int hits) {
+        if (hits > 0) {
+            dedupeHits.increment(hits);
+        }
+    }
+
+    /**
+     * Records one syncItem run; {@code outcome} is "complete", "partial" (page budget hit) or
+     * "error".
+     */
+    public void recordRun(long nanos, String outcome) {
+        Timer.builder("plaid.sync.runs")
+                .description("Whole syncItem runs")
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Counter rows(String delta) {
+        return Counter.builder("plaid.sync.rows")
+                .description("Rows written per sync delta")
+                .tag("delta", delta)
+                .register(registry);
+    }
+}
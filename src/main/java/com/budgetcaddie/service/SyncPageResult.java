@@ -0,0 +1,7 @@
+package com.budgetcaddie.service;
+
+/**
+ * Row counts written for one /transactions/sync page.
+ */
+public record SyncPageResult(int added, int modified, int removed) {
+}
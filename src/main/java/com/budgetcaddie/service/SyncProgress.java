@@ -0,0 +1,145 @@
+package com.budgetcaddie.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live progress and lag of one Plaid item's sync. Counters describe the current (or last) run.
+ */
+public class SyncProgress {
+
+    public enum State {
+        IDLE, QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    private final String item;
+    private final AtomicReference<State> state = new AtomicReference<>(State.IDLE);
+
+    private volatile int pagesFetched;
+    private volatile int rowsAdded;
+    private volatile int rowsModified;
+    private volatile int rowsRemoved;
+    private volatile Instant lastStartedAt;
+    private volatile Instant lastFinishedAt;
+    private volatile Instant lastCaughtUpAt;
+    private volatile String lastError;
+
+    public SyncProgress(String item) {
+        this.item = item;
+    }
+
+    /**
+     * Marks the item as queued unless it is already queued or running.
+     */
+    public boolean tryQueue() {
+        State current = state.get();
+        while (current != State.QUEUED && current != State.RUNNING) {
+            if (state.compareAndSet(current, State.QUEUED)) {
+                return true;
+            }
+            current = state.get();
+        }
+        return false;
+    }
+
+    /**
+     * Claims the item for a run unless one is already running. This is the only per-item guard
+     * shared by scheduled runs and on-demand jobs, so at most one cursor loop runs per item.
+     */
+    boolean tryStart() {
+        State current = state.get();
+        while (current != State.RUNNING) {
+            if (state.compareAndSet(current, State.RUNNING)) {
+                break;
+            }
+            current = state.get();
+        }
+        if (current == State.RUNNING) {
+            return false;
+        }
+        pagesFetched = 0;
+        rowsAdded = 0;
+        rowsModified = 0;
+        rowsRemoved = 0;
+        lastError = null;
+        lastStartedAt = Instant.now();
+        return true;
+    }
+
+    /**
+     * Drops a {@link #tryQueue} claim whose run never started, so the item can be queued again.
+     */
+    void releaseQueued() {
+        state.compareAndSet(State.QUEUED, State.IDLE);
+    }
+
+    void recordPage(SyncPageResult page) {
+        pagesFetched++;
+        rowsAdded += page.added();
+        rowsModified += page.modified();
+        rowsRemoved += page.removed();
+    }
+
+    void succeed(boolean caughtUp) {
+        lastFinishedAt = Instant.now();
+        if (caughtUp) {
+            lastCaughtUpAt = lastFinishedAt;
+        }
+        state.set(State.SUCCEEDED);
+    }
+
+    void fail(String error) {
+        lastFinishedAt = Instant.now();
+        lastError = error;
+        state.set(State.FAILED);
+    }
+
+    public String getItem() {
+        return item;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public int getPagesFetched() {
+        return pagesFetched;
+    }
+
+    public int getRowsAdded() {
+        return rowsAdded;
+    }
+
+    public int getRowsModified() {
+        return rowsModified;
+    }
+
+    public int getRowsRemoved() {
+        return rowsRemoved;
+    }
+
+    public Instant getLastStartedAt() {
+        return lastStartedAt;
+    }
+
+    public Instant getLastFinishedAt() {
+        return lastFinishedAt;
+    }
+
+    public Instant getLastCaughtUpAt() {
+        return lastCaughtUpAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Seconds since the item was last fully caught up with Plaid, or null if it never was.
+     */
+    public Long getLagSeconds() {
+        Instant caughtUp = lastCaughtUpAt;
+        return caughtUp == null ? null : Duration.between(caughtUp, Instant.now()).getSeconds();
+    }
+}
@@ -0,0 +1,39 @@
+package com.budgetcaddie.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory progress for every item synced since startup, keyed by access token.
+ */
+@Component
+public class SyncProgressRegistry {
+
+    private final Map<String, SyncProgress> progressByToken = new ConcurrentHashMap<>();
+
+    public SyncProgress forItem(String accessToken) {
+        return progressByToken.computeIfAbsent(accessToken, token -> new SyncProgress(mask(token)));
+    }
+
+    /**
+     * Progress of an item synced since startup, without registering one.
+     */
+    public Optional<SyncProgress> find(String accessToken) {
+        return Optional.ofNullable(progressByToken.get(accessToken));
+    }
+
+    public List<SyncProgress> all() {
+        return new ArrayList<>(progressByToken.values());
+    }
+
+    // Access tokens are credentials; only the tail is ever shown
+    private static String mask(String accessToken) {
+        int keep = Math.min(6, accessToken.length());
+        return "..." + accessToken.substring(accessToken.length() - keep);
+    }
+}
@@ -0,0 +1,8 @@
+package com.budgetcaddie.service;
+
+/**
+ * Totals for one sync run of an item. {@code caughtUp} is false when the run stopped at its
+ * page budget while Plaid still reported has_more.
+ */
+public record SyncResult(int pages, int added, int modified, int removed, boolean caughtUp) {
+}
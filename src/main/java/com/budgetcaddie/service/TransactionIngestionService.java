@@ -0,0 +1,224 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.model.PlaidCursor;
+import com.budgetcaddie.model.PlaidItem;
+import com.budgetcaddie.model.Transaction;
+import com.budgetcaddie.repository.PlaidCursorRepository;
+import com.budgetcaddie.repository.TransactionRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Persists one page of a Plaid /transactions/sync response.
+ *
+ * A page is deduplicated with a single lookup against plaid_transaction_id, new rows are
+ * written as one JDBC batch, modified rows as one batch upsert and removed rows as one
+ * DELETE. The cursor is advanced in the same transaction so a crash never leaves the
+ * cursor ahead of (or behind) the rows it covers.
+ *
+ * Each page that changes rows publishes a {@link TransactionsChangedEvent} before commit, so
+ * derived data such as spend rollups is updated in the same transaction.
+ */
+@Service
+public class TransactionIngestionService {
+
+    private static final String INSERT_SQL = "INSERT INTO transactions "
+            + "(user_id, plaid_transaction_id, account_id, amount_minor, name, category, subcategory, date, currency_code, "
+            + "merchant_name) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (user_id, plaid_transaction_id) DO NOTHING";
+
+    // A modified row we never stored (e.g. added before the first cursor) is inserted instead
+    private static final String UPSERT_SQL = "INSERT INTO transactions "
+            + "(user_id, plaid_transaction_id, account_id, amount_minor, name, category, subcategory, date, currency_code, "
+            + "merchant_name) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (user_id, plaid_transaction_id) DO UPDATE SET "
+            + "account_id = EXCLUDED.account_id, amount_minor = EXCLUDED.amount_minor, name = EXCLUDED.name, "
+            + "category = EXCLUDED.category, subcategory = EXCLUDED.subcategory, date = EXCLUDED.date, "
+            + "currency_code = EXCLUDED.currency_code, merchant_name = EXCLUDED.merchant_name";
+
+    // Every statement filters on user_id so Postgres only touches the owner's partition
+    private static final String DELETE_SQL = "DELETE FROM transactions "
+            + "WHERE user_id = :userId AND plaid_transaction_id IN (:ids)";
+
+    private static final String SELECT_PREVIOUS_SQL = "SELECT user_id, plaid_transaction_id, account_id, amount_minor, name, "
+            + "category, subcategory, date, currency_code, merchant_name "
+            + "FROM transactions WHERE user_id = :userId AND plaid_transaction_id IN (:ids)";
+
+    private static final RowMapper<Transaction> TRANSACTION_MAPPER = (rs, rowNum) -> {
+        Transaction tx = new Transaction();
+        tx.setUserId(rs.getLong("user_id"));
+        tx.setPlaidTransactionId(rs.getString("plaid_transaction_id"));
+        tx.setAccountId(rs.getString("account_id"));
+        tx.setAmountMinor(rs.getLong("amount_minor"));
+        tx.setName(rs.getString("name"));
+        tx.setCategory(rs.getString("category"));
+        tx.setSubcategory(rs.getString("subcategory"));
+        tx.setDate(rs.getObject("date", LocalDate.class));
+        tx.setCurrencyCode(rs.getString("currency_code"));
+        tx.setMerchantName(rs.getString("merchant_name"));
+        return tx;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private PlaidCursorRepository cursorRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private SyncMetrics metrics;
+
+    /**
+     * Applies the added, modified and removed deltas of a page to the item owner's transactions
+     * and moves the item's cursor to {@code nextCursor}.
+     */
+    @Transactional
+    public SyncPageResult applyPage(PlaidItem item, List<Transaction> added, List<Transaction> modified,
+            List<String> removedIds, String nextCursor) {
+        Long userId = item.getUserId();
+        List<Transaction> fresh = newRows(userId, added);
+        List<Transaction> changed = latestVersions(userId, modified);
+        List<Transaction> previous = loadPrevious(userId, changed, removedIds);
+
+        int inserted = fresh.isEmpty() ? 0 : countRows(writeBatch(INSERT_SQL, fresh));
+        // Repeats within the page, rows already stored, and rows a concurrent sync inserted first
+        metrics.recordDedupeHits(added.size() - inserted);
+        int updated = changed.isEmpty() ? 0 : countRows(writeBatch(UPSERT_SQL, changed));
+        int deleted = deleteRemoved(userId, removedIds);
+        saveCursor(item, nextCursor);
+
+        if (!fresh.isEmpty() || !changed.isEmpty() || !previous.isEmpty()) {
+            List<Transaction> current = new ArrayList<>(fresh.size() + changed.size());
+            current.addAll(fresh);
+            current.addAll(changed);
+            eventPublisher.publishEvent(new TransactionsChangedEvent(userId, item.getId(), previous, current));
+        }
+        return new SyncPageResult(inserted, updated, deleted);
+    }
+
+    /**
+     * Rows of {@code added} the user does not have yet, first occurrence per id, stamped with
+     * the owner.
+     */
+    private List<Transaction> newRows(Long userId, List<Transaction> added) {
+        if (added.isEmpty()) {
+            return List.of();
+        }
+
+        // Plaid can repeat an id within a page; keep the first occurrence
+        Map<String, Transaction> byPlaidId = new LinkedHashMap<>();
+        for (Transaction tx : added) {
+            tx.setUserId(userId);
+            byPlaidId.putIfAbsent(tx.getPlaidTransactionId(), tx);
+        }
+
+        Set<String> existing = transactionRepository.findExistingPlaidTransactionIds(userId, byPlaidId.keySet());
+        List<Transaction> fresh = new ArrayList<>(byPlaidId.size());
+        for (Transaction tx : byPlaidId.values()) {
+            if (!existing.contains(tx.getPlaidTransactionId())) {
+                fresh.add(tx);
+            }
+        }
+        return fresh;
+    }
+
+    private static List<Transaction> latestVersions(Long userId, List<Transaction> modified) {
+        if (modified.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Transaction> byPlaidId = new LinkedHashMap<>();
+        for (Transaction tx : modified) {
+            tx.setUserId(userId);
+            // a later entry for the same id is the newer version
+            byPlaidId.put(tx.getPlaidTransactionId(), tx);
+        }
+        return new ArrayList<>(byPlaidId.values());
+    }
+
+    /**
+     * Stored versions of the rows this page is about to overwrite or delete, in one query.
+     */
+    private List<Transaction> loadPrevious(Long userId, List<Transaction> changed, List<String> removedIds) {
+        if (changed.isEmpty() && removedIds.isEmpty()) {
+            return List.of();
+        }
+        Set<String> ids = new LinkedHashSet<>(removedIds);
+        for (Transaction tx : changed) {
+            ids.add(tx.getPlaidTransactionId());
+        }
+        return namedJdbcTemplate.query(SELECT_PREVIOUS_SQL, Map.of("userId", userId, "ids", ids), TRANSACTION_MAPPER);
+    }
+
+    private int deleteRemoved(Long userId, List<String> removedIds) {
+        if (removedIds.isEmpty()) {
+            return 0;
+        }
+        return namedJdbcTemplate.update(DELETE_SQL, Map.of("userId", userId, "ids", new LinkedHashSet<>(removedIds)));
+    }
+
+    private int[] writeBatch(String sql, List<Transaction> rows) {
+        return jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, tx) -> {
+            ps.setLong(1, tx.getUserId());
+            ps.setString(2, tx.getPlaidTransactionId());
+            ps.setString(3, tx.getAccountId());
+            ps.setLong(4, tx.getAmountMinor());
+            ps.setString(5, tx.getName());
+            ps.setString(6, tx.getCategory());
+            ps.setString(7, tx.getSubcategory());
+            ps.setObject(8, tx.getDate());
+            ps.setString(9, tx.getCurrencyCode());
+            ps.setString(10, tx.getMerchantName());
+        })[0];
+    }
+
+    /**
+     * With reWriteBatchedInserts the driver reports SUCCESS_NO_INFO instead of per-row counts;
+     * those rows already passed the dedupe lookup, so each one is counted as written.
+     */
+    private static int countRows(int[] counts) {
+        int rows = 0;
+        for (int count : counts) {
+            if (count == Statement.SUCCESS_NO_INFO) {
+                rows++;
+            } else if (count > 0) {
+                rows += count;
+            }
+        }
+        return rows;
+    }
+
+    private void saveCursor(PlaidItem item, String nextCursor) {
+        PlaidCursor pc = cursorRepository.findByPlaidItemId(item.getId())
+                .orElse(new PlaidCursor());
+        pc.setPlaidItemId(item.getId());
+        pc.setAccessToken(item.getAccessToken());
+        pc.setCursor(nextCursor);
+        cursorRepository.save(pc);
+    }
+}
@@ -0,0 +1,19 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Published inside the ingestion transaction after a sync page is written.
+ *
+ * {@code previous} holds the stored versions of modified and removed rows as they were before
+ * the page; {@code current} holds newly inserted rows and the new versions of modified rows.
+ * Together they name the rows whose groups must be refreshed: listeners that maintain derived
+ * data recompute each touched group (e.g. account, month, category) from the stored rows, as
+ * {@link SpendRollupService} does, rather than applying the rows as deltas, which would
+ * double-count if the same page were delivered twice. All rows belong to {@code userId}.
+ */
+public record TransactionsChangedEvent(Long userId, Long plaidItemId, List<Transaction> previous,
+        List<Transaction> current) {
+}
@@ -0,0 +1,117 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.model.PlaidItem;
+import com.budgetcaddie.repository.PlaidItemRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns SYNC_UPDATES_AVAILABLE webhooks into sync jobs, coalescing bursts per item.
+ *
+ * The first webhook for an item opens a short window ({@code plaid.webhook.coalesce-ms}); the
+ * rest of the burst lands in that window and is absorbed. When it closes the item is submitted
+ * to {@link SyncJobService}, which resumes from the stored cursor and folds in any webhook that
+ * arrives while the job is still running.
+ */
+@Component
+public class WebhookSyncQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookSyncQueue.class);
+
+    @Value("${plaid.webhook.coalesce-ms:2000}")
+    private long coalesceMs;
+
+    @Value("${plaid.webhook.retry-delay-ms:30000}")
+    private long retryDelayMs;
+
+    @Autowired
+    private PlaidItemRepository itemRepository;
+
+    @Autowired
+    private SyncJobService syncJobService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Plaid item_ids with an open coalescing window
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    private ScheduledExecutorService timer;
+    private Counter queued;
+    private Counter coalesced;
+
+    @PostConstruct
+    public void start() {
+        timer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("plaid-webhook-"));
+        queued = webhooks("queued");
+        coalesced = webhooks("coalesced");
+    }
+
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * Records that Plaid has updates for the item.
+     *
+     * @return false if the webhook was absorbed into a window already open for the item
+     */
+    public boolean enqueue(String itemId) {
+        if (!pending.add(itemId)) {
+            coalesced.increment();
+            return false;
+        }
+        queued.increment();
+        timer.schedule(() -> flush(itemId), coalesceMs, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    private void flush(String itemId) {
+        pending.remove(itemId);
+        Optional<PlaidItem> item = itemRepository.findByItemId(itemId);
+        if (item.isEmpty()) {
+            logger.warn("Plaid webhook for unknown item {}", itemId);
+            return;
+        }
+        try {
+            SyncJob job = syncJobService.submit(item.get());
+            logger.debug("Plaid webhook for item {} -> sync job {}", itemId, job.getId());
+        } catch (RejectedExecutionException e) {
+            // Job queue full; try again later rather than drop the update
+            logger.warn("Sync job queue full; retrying webhook for item {} in {} ms", itemId, retryDelayMs);
+            if (pending.add(itemId)) {
+                timer.schedule(() -> flush(itemId), retryDelayMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not start sync for webhook on item {}: {}", itemId, e.getMessage());
+        }
+    }
+
+    private Counter webhooks(String result) {
+        return Counter.builder("plaid.webhooks")
+                .description("SYNC_UPDATES_AVAILABLE webhooks received")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,107 @@
+package com.budgetcaddie.analytics;
+
+import com.budgetcaddie.model.Transaction;
+import com.budgetcaddie.payload.CategoryTotal;
+import com.budgetcaddie.payload.MerchantSpend;
+import com.budgetcaddie.payload.MonthOverMonth;
+import com.budgetcaddie.repository.CategorySpendRepository;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TransactionColumnsTest {
+
+    private static TransactionColumns sample(int parallelThreshold) {
+        // Added out of date order on purpose; build() sorts
+        return new TransactionColumns.Builder(parallelThreshold, 4)
+                .add("t3", day(2024, 2, 10), 3000, "USD", "Groceries", "Metro")
+                .add("t1", day(2024, 1, 5), 1250, "USD", "Groceries", "Metro")
+                .add("t2", day(2024, 1, 20), 4000, "USD", "Dining", "Cafe")
+                .add("t4", day(2024, 2, 11), 900, "CAD", "Groceries", "Metro")
+                .add("t5", day(2024, 3, 1), -500, "USD", "Groceries", "Metro")
+                .build();
+    }
+
+    @Test
+    void aggregatesPerCurrencyOverInclusiveDateRanges() {
+        TransactionColumns columns = sample(1_000);
+
+        assertThat(columns.totalsByCategory(null, null)).containsExactly(
+                new CategoryTotal("Dining", "USD", total("40.00"), 1),
+                new CategoryTotal("Groceries", "USD", total("37.50"), 3),
+                new CategoryTotal("Groceries", "CAD", total("9.00"), 1));
+
+        List<MerchantSpend> top = columns.topMerchants(LocalDate.of(2024, 1, 20), LocalDate.of(2024, 2, 10), 1);
+        assertThat(top).containsExactly(new MerchantSpend("Cafe", "USD", total("40.00"), 1));
+
+        List<MonthOverMonth> months = columns.monthly(LocalDate.of(2024, 1, 1), null);
+        assertThat(months).extracting(MonthOverMonth::month, MonthOverMonth::currencyCode, MonthOverMonth::total,
+                MonthOverMonth::change).containsExactly(
+                        tuple(YearMonth.of(2024, 1), "USD", total("52.50"), null),
+                        tuple(YearMonth.of(2024, 2), "USD", total("30.00"), total("-22.50")),
+                        tuple(YearMonth.of(2024, 2), "CAD", total("9.00"), total("9.00")),
+                        tuple(YearMonth.of(2024, 3), "USD", total("-5.00"), total("-35.00")));
+
+        assertThat(columns.totalsByCategory(LocalDate.of(2025, 1, 1), null)).isEmpty();
+        assertThat(columns.monthly(LocalDate.of(2025, 1, 1), null)).isEmpty();
+    }
+
+    @Test
+    void parallelScanMatchesSequential() {
+        assertThat(sample(1).totalsByCategory(null, null)).isEqualTo(sample(1_000).totalsByCategory(null, null));
+        assertThat(sample(1).monthly(null, null)).isEqualTo(sample(1_000).monthly(null, null));
+    }
+
+    @Test
+    void appliesSyncPagesByReplacingRowsById() {
+        TransactionColumns columns = sample(1_000);
+
+        Transaction oldT2 = transaction("t2", LocalDate.of(2024, 1, 20), 4000, "Dining", "Cafe");
+        Transaction newT2 = transaction("t2", LocalDate.of(2024, 1, 21), 4500, "Dining", "Cafe");
+        Transaction removedT3 = transaction("t3", LocalDate.of(2024, 2, 10), 3000, "Groceries", "Metro");
+        Transaction added = transaction("t6", LocalDate.of(2024, 3, 2), 700, null, null);
+        added.setName("Corner Store");
+
+        TransactionColumns updated = columns.apply(List.of(oldT2, removedT3), List.of(newT2, added));
+        // Applying the same page again changes nothing
+        TransactionColumns twice = updated.apply(List.of(oldT2, removedT3), List.of(newT2, added));
+
+        assertThat(columns.size()).isEqualTo(5);
+        assertThat(updated.size()).isEqualTo(5);
+        assertThat(updated.totalsByCategory(null, null)).containsExactly(
+                new CategoryTotal("Dining", "USD", total("45.00"), 1),
+                new CategoryTotal("Groceries", "CAD", total("9.00"), 1),
+                new CategoryTotal("Groceries", "USD", total("7.50"), 2),
+                new CategoryTotal(CategorySpendRepository.UNCATEGORIZED, "USD", total("7.00"), 1));
+        assertThat(twice.totalsByCategory(null, null)).isEqualTo(updated.totalsByCategory(null, null));
+        assertThat(updated.topMerchants(null, null, 10)).extracting(MerchantSpend::merchant)
+                .contains("Corner Store");
+    }
+
+    private static Transaction transaction(String id, LocalDate date, long amountMinor, String category,
+            String merchant) {
+        Transaction tx = new Transaction();
+        tx.setPlaidTransactionId(id);
+        tx.setDate(date);
+        tx.setAmountMinor(amountMinor);
+        tx.setCurrencyCode("USD");
+        tx.setCategory(category);
+        tx.setMerchantName(merchant);
+        return tx;
+    }
+
+    private static int day(int year, int month, int day) {
+        return (int) LocalDate.of(year, month, day).toEpochDay();
+    }
+
+    private static BigDecimal total(String value) {
+        return new BigDecimal(value);
+    }
+}
@@ -0,0 +1,57 @@
+package com.budgetcaddie.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InProcessUserScopedCacheTest {
+
+    @Test
+    void servesRepeatReadsFromCacheUntilTheUserIsEvicted() {
+        InProcessUserScopedCache cache = new InProcessUserScopedCache(100, 60_000);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get(1L, "k", loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get(1L, "k", loads::incrementAndGet)).isEqualTo(1);
+
+        cache.evictUser(1L);
+
+        assertThat(cache.get(1L, "k", loads::incrementAndGet)).isEqualTo(2);
+    }
+
+    @Test
+    void evictionOnlyAffectsThatUser() {
+        InProcessUserScopedCache cache = new InProcessUserScopedCache(100, 60_000);
+        cache.get(1L, "k", () -> "one");
+        cache.get(2L, "k", () -> "two");
+
+        cache.evictUser(1L);
+
+        assertThat(cache.get(1L, "k", () -> "one-reloaded")).isEqualTo("one-reloaded");
+        assertThat(cache.get(2L, "k", () -> "two-reloaded")).isEqualTo("two");
+    }
+
+    @Test
+    void valueLoadedAcrossAnEvictionIsNotServedAfterwards() {
+        InProcessUserScopedCache cache = new InProcessUserScopedCache(100, 60_000);
+
+        // The sync commits (and evicts) while this read is still querying the old data
+        cache.get(1L, "k", () -> {
+            cache.evictUser(1L);
+            return "stale";
+        });
+
+        assertThat(cache.get(1L, "k", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void staysWithinMaxEntries() {
+        InProcessUserScopedCache cache = new InProcessUserScopedCache(10, 60_000);
+        for (int i = 0; i < 100; i++) {
+            cache.get((long) i, "k", () -> "v");
+        }
+        assertThat(cache.size()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,125 @@
+package com.budgetcaddie.categorization;
+
+import com.budgetcaddie.model.Transaction;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AhoCorasickMatcherTest {
+
+    @Test
+    void prefersLongestMatchThenLowestId() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("uber", "uber eats", "eats", "amzn"));
+
+        assertThat(matcher.longestMatch("UBER   *TRIP 8812")).isEqualTo(0);
+        assertThat(matcher.longestMatch("Uber Eats order 42")).isEqualTo(1);
+        assertThat(matcher.longestMatch("AMZN Mktp CA")).isEqualTo(3);
+        assertThat(matcher.longestMatch("Blue Bottle")).isEqualTo(-1);
+        assertThat(matcher.longestMatch("")).isEqualTo(-1);
+    }
+
+    @Test
+    void matchesPatternsThatOverlapAcrossFailureLinks() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("abcd", "bc", "cafe"));
+
+        assertThat(matcher.longestMatch("xabcx")).isEqualTo(1);
+        assertThat(matcher.longestMatch("zzcafé cafe")).isEqualTo(2);
+    }
+
+    @Test
+    void handlesNonAsciiPatterns() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("café", "société"));
+
+        assertThat(matcher.longestMatch("CAFÉ CENTRAL")).isEqualTo(0);
+        assertThat(matcher.longestMatch("Société des alcools")).isEqualTo(1);
+    }
+
+    @Test
+    void userOverridesWinOverBuiltInRules() throws Exception {
+        MerchantRuleSet builtIn = MerchantRuleSet.compile(MerchantRuleSet.parseCsv(csv("""
+                # pattern,merchant,category,subcategory
+                starbucks,Starbucks,FOOD_AND_DRINK,FOOD_AND_DRINK_COFFEE
+                netflix,Netflix,,
+                """)));
+        MerchantRuleSet overrides = MerchantRuleSet.compile(List.of(
+                new MerchantRule("netflix", null, "ENTERTAINMENT", "ENTERTAINMENT_TV_AND_MOVIES")));
+
+        Transaction coffee = tx("STARBUCKS STORE 0042", null);
+        Transaction streaming = tx("NETFLIX.COM", "GENERAL_SERVICES");
+        Transaction other = tx("Corner Store", "GENERAL_MERCHANDISE");
+
+        CategorizationEngine.apply(builtIn, overrides, List.of(coffee, streaming, other));
+
+        assertThat(coffee.getMerchantName()).isEqualTo("Starbucks");
+        assertThat(coffee.getCategory()).isEqualTo("FOOD_AND_DRINK");
+        assertThat(streaming.getMerchantName()).isEqualTo("Netflix");
+        assertThat(streaming.getCategory()).isEqualTo("ENTERTAINMENT");
+        assertThat(other.getMerchantName()).isNull();
+        assertThat(other.getCategory()).isEqualTo("GENERAL_MERCHANDISE");
+    }
+
+    @Test
+    void wholeWordModeIgnoresPatternsInsideLongerWords() {
+        AhoCorasickMatcher matcher = AhoCorasickMatcher.compile(List.of("uber", "cvs", "apple.com/", "ber"), true);
+
+        assertThat(matcher.longestMatch("HUBER AUTO BODY")).isEqualTo(-1);
+        assertThat(matcher.longestMatch("CVSA INSPECTIONS")).isEqualTo(-1);
+        assertThat(matcher.longestMatch("UBER *TRIP")).isEqualTo(0);
+        assertThat(matcher.longestMatch("CVS/PHARMACY #1234")).isEqualTo(1);
+        assertThat(matcher.longestMatch("APPLE.COM/BILL")).isEqualTo(2);
+        // A rejected longer pattern does not hide a shorter one ending at the same place
+        assertThat(matcher.longestMatch("XUBER BER")).isEqualTo(3);
+    }
+
+    @Test
+    void builtInRulesNeverReplacePlaidsMerchantOrHitUnrelatedNames() throws Exception {
+        MerchantRuleSet builtIn;
+        try (var in = getClass().getResourceAsStream("/categorization/merchant-rules.csv")) {
+            builtIn = MerchantRuleSet.compile(MerchantRuleSet.parseCsv(in), true);
+        }
+
+        Transaction huber = tx("HUBER HEIGHTS UTILITIES", null);
+        Transaction presto = tx("PRESTO PIZZA", null);
+        Transaction rogersPlumbing = tx("ROGERSON PLUMBING", null);
+        Transaction viaPaypal = tx("PAYPAL *UBER EATS", null);
+        viaPaypal.setMerchantName("Uber Eats");
+        Transaction plaidNamed = tx("CVS/PHARMACY #0421", null);
+        plaidNamed.setMerchantName("CVS Pharmacy");
+        Transaction unnamed = tx("SQ *UBER 8812", null);
+
+        CategorizationEngine.apply(builtIn, MerchantRuleSet.EMPTY,
+                List.of(huber, presto, rogersPlumbing, viaPaypal, plaidNamed, unnamed));
+
+        assertThat(huber.getMerchantName()).isNull();
+        assertThat(huber.getCategory()).isNull();
+        assertThat(presto.getMerchantName()).isNull();
+        assertThat(rogersPlumbing.getMerchantName()).isNull();
+        assertThat(viaPaypal.getMerchantName()).isEqualTo("Uber Eats");
+        assertThat(plaidNamed.getMerchantName()).isEqualTo("CVS Pharmacy");
+        assertThat(plaidNamed.getCategory()).isEqualTo("MEDICAL");
+        assertThat(unnamed.getMerchantName()).isEqualTo("Uber");
+    }
+
+    @Test
+    void rejectsMalformedRuleLines() {
+        assertThatThrownBy(() -> MerchantRuleSet.parseCsv(csv("starbucks,Starbucks\n")))
+                .isInstanceOf(java.io.IOException.class);
+    }
+
+    private static Transaction tx(String name, String category) {
+        Transaction tx = new Transaction();
+        tx.setName(name);
+        tx.setCategory(category);
+        return tx;
+    }
+
+    private static ByteArrayInputStream csv(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+package com.budgetcaddie.controller;
+
+import com.budgetcaddie.model.PlaidItem;
+import com.budgetcaddie.repository.PlaidItemRepository;
+import com.budgetcaddie.security.CurrentUserResolver;
+import com.budgetcaddie.service.PlaidBackfillService;
+import com.budgetcaddie.service.PlaidSyncScheduler;
+import com.budgetcaddie.service.SyncJobService;
+import com.budgetcaddie.service.SyncProgressRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every item-scoped Plaid endpoint answers only for the caller's own items.
+ */
+class PlaidControllerOwnershipTest {
+
+    private final PlaidItemRepository itemRepository = mock(PlaidItemRepository.class);
+    private final CurrentUserResolver currentUserResolver = mock(CurrentUserResolver.class);
+    private final SyncJobService syncJobService = mock(SyncJobService.class);
+    private final PlaidBackfillService backfillService = mock(PlaidBackfillService.class);
+    private final PlaidSyncScheduler syncScheduler = mock(PlaidSyncScheduler.class);
+    private final SyncProgressRegistry progressRegistry = new SyncProgressRegistry();
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        when(itemRepository.findByAccessToken(anyString())).thenReturn(Optional.empty());
+        when(itemRepository.findByAccessToken("token-mine")).thenReturn(Optional.of(item(1L, "token-mine")));
+        when(itemRepository.findByAccessToken("token-theirs")).thenReturn(Optional.of(item(2L, "token-theirs")));
+        when(itemRepository.findByUserId(1L)).thenReturn(List.of(item(1L, "token-mine")));
+        when(currentUserResolver.currentUserId()).thenReturn(Optional.of(1L));
+
+        progressRegistry.forItem("token-mine");
+        progressRegistry.forItem("token-theirs");
+
+        PlaidController controller = new PlaidController();
+        ReflectionTestUtils.setField(controller, "itemRepository", itemRepository);
+        ReflectionTestUtils.setField(controller, "currentUserResolver", currentUserResolver);
+        ReflectionTestUtils.setField(controller, "syncJobService", syncJobService);
+        ReflectionTestUtils.setField(controller, "backfillService", backfillService);
+        ReflectionTestUtils.setField(controller, "syncScheduler", syncScheduler);
+        ReflectionTestUtils.setField(controller, "progressRegistry", progressRegistry);
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void otherUsersItemsLookUnknown() throws Exception {
+        for (String path : List.of("/api/plaid/transactions/get", "/api/plaid/transactions/get/stream",
+                "/api/plaid/transactions/sync")) {
+            mvc.perform(post(path).contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"access_token\":\"token-theirs\"}"))
+                    .andExpect(status().isNotFound());
+        }
+        verify(syncJobService, never()).submit(any(PlaidItem.class));
+        verify(backfillService, never()).fetchAll(anyString(), anyInt());
+
+        when(syncJobService.find("job-1", 1L)).thenReturn(Optional.empty());
+        mvc.perform(get("/api/plaid/sync/jobs/job-1")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void statusAndRefreshCoverOnlyTheCallersItems() throws Exception {
+        mvc.perform(get("/api/plaid/sync/status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].item").value("...n-mine"));
+
+        when(syncScheduler.refresh(any())).thenReturn(1);
+        mvc.perform(post("/api/plaid/sync/refresh")).andExpect(status().isAccepted());
+        verify(syncScheduler).refresh(argThat(items -> items.size() == 1 && items.get(0).getUserId() == 1L));
+        verify(syncScheduler, never()).refreshAll();
+    }
+
+    @Test
+    void requiresAnAuthenticatedCaller() throws Exception {
+        when(currentUserResolver.currentUserId()).thenReturn(Optional.empty());
+
+        mvc.perform(get("/api/plaid/sync/status")).andExpect(status().isUnauthorized());
+        mvc.perform(post("/api/plaid/sync/refresh")).andExpect(status().isUnauthorized());
+        mvc.perform(get("/api/plaid/sync/jobs/job-1")).andExpect(status().isUnauthorized());
+    }
+
+    private static PlaidItem item(Long userId, String accessToken) {
+        PlaidItem item = new PlaidItem();
+        item.setId(userId * 10);
+        item.setUserId(userId);
+        item.setItemId("item-" + userId);
+        item.setAccessToken(accessToken);
+        return item;
+    }
+}
@@ -0,0 +1,69 @@
+package com.budgetcaddie.controller;
+
+import com.budgetcaddie.model.PlaidItem;
+import com.budgetcaddie.repository.PlaidItemRepository;
+import com.budgetcaddie.security.CurrentUserResolver;
+import com.budgetcaddie.service.PlaidBackfillService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A backfill stream that fails after its headers are sent still ends with an error line.
+ */
+class PlaidControllerStreamingTest {
+
+    private final PlaidItemRepository itemRepository = mock(PlaidItemRepository.class);
+    private final CurrentUserResolver currentUserResolver = mock(CurrentUserResolver.class);
+    private final PlaidBackfillService backfillService = mock(PlaidBackfillService.class);
+    private final PlaidController controller = new PlaidController();
+
+    @BeforeEach
+    void setUp() {
+        PlaidItem item = new PlaidItem();
+        item.setUserId(1L);
+        item.setAccessToken("token-mine");
+        when(itemRepository.findByAccessToken("token-mine")).thenReturn(Optional.of(item));
+        when(currentUserResolver.currentUserId()).thenReturn(Optional.of(1L));
+
+        ReflectionTestUtils.setField(controller, "itemRepository", itemRepository);
+        ReflectionTestUtils.setField(controller, "currentUserResolver", currentUserResolver);
+        ReflectionTestUtils.setField(controller, "backfillService", backfillService);
+        ReflectionTestUtils.setField(controller, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void unexpectedFailureEndsTheStreamWithAnErrorLine() throws Exception {
+        when(backfillService.streamAsNdjson(eq("token-mine"), anyInt(), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("{\"transaction_id\":\"t-1\"}\n".getBytes(StandardCharsets.UTF_8));
+            throw new ResourceAccessException("Read timed out");
+        });
+
+        ResponseEntity<?> response = controller.streamAllTransactionsFromPlaid(Map.of("access_token", "token-mine"), 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingResponseBody) response.getBody()).writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[1]).contains("\"error\"");
+    }
+}
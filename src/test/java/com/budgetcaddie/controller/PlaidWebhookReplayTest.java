@@ -0,0 +1,251 @@
+package com.budgetcaddie.controller;
+
+import com.budgetcaddie.model.PlaidItem;
+import com.budgetcaddie.plaid.PlaidWebhookVerifier;
+import com.budgetcaddie.repository.PlaidItemRepository;
+import com.budgetcaddie.service.PlaidSyncService;
+import com.budgetcaddie.service.SyncJobService;
+import com.budgetcaddie.service.SyncPageResult;
+import com.budgetcaddie.service.SyncResult;
+import com.budgetcaddie.service.WebhookSyncQueue;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Replays recorded webhook bursts (src/test/resources/webhooks) through the webhook endpoint,
+ * the coalescing queue and the sync job pool, against an in-memory Plaid stub that pages from
+ * each item's stored cursor. Signature checks are off; everything else is the real pipeline.
+ */
+class PlaidWebhookReplayTest {
+
+    private static final long COALESCE_MS = 150;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final StubPlaid plaid = new StubPlaid();
+
+    private SyncJobService jobService;
+    private WebhookSyncQueue queue;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PlaidItemRepository itemRepository = mock(PlaidItemRepository.class);
+        when(itemRepository.findByItemId(anyString())).thenReturn(Optional.empty());
+        for (String itemId : List.of("item-a", "item-b", "item-c")) {
+            PlaidItem item = new PlaidItem();
+            item.setId((long) itemId.charAt(itemId.length() - 1));
+            item.setItemId(itemId);
+            item.setAccessToken("token-" + itemId);
+            when(itemRepository.findByItemId(itemId)).thenReturn(Optional.of(item));
+        }
+
+        PlaidSyncService syncService = mock(PlaidSyncService.class);
+        when(syncService.syncItem(anyString(), anyInt(), any()))
+                .thenAnswer(invocation -> plaid.sync(invocation.getArgument(0), invocation.getArgument(2)));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        jobService = new SyncJobService();
+        ReflectionTestUtils.setField(jobService, "threads", 4);
+        ReflectionTestUtils.setField(jobService, "queueCapacity", 100);
+        ReflectionTestUtils.setField(jobService, "retentionMs", 60_000L);
+        ReflectionTestUtils.setField(jobService, "itemRepository", itemRepository);
+        ReflectionTestUtils.setField(jobService, "syncService", syncService);
+        ReflectionTestUtils.setField(jobService, "meterRegistry", registry);
+        jobService.start();
+
+        queue = new WebhookSyncQueue();
+        ReflectionTestUtils.setField(queue, "coalesceMs", COALESCE_MS);
+        ReflectionTestUtils.setField(queue, "retryDelayMs", 1_000L);
+        ReflectionTestUtils.setField(queue, "itemRepository", itemRepository);
+        ReflectionTestUtils.setField(queue, "syncJobService", jobService);
+        ReflectionTestUtils.setField(queue, "meterRegistry", registry);
+        queue.start();
+
+        PlaidWebhookVerifier verifier = new PlaidWebhookVerifier();
+        ReflectionTestUtils.setField(verifier, "enabled", false);
+
+        PlaidWebhookController controller = new PlaidWebhookController();
+        ReflectionTestUtils.setField(controller, "verifier", verifier);
+        ReflectionTestUtils.setField(controller, "webhookSyncQueue", queue);
+        ReflectionTestUtils.setField(controller, "objectMapper", objectMapper);
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        plaid.firstRunGate.countDown();
+        queue.stop();
+        jobService.stop();
+    }
+
+    @Test
+    void burstForOneItemRunsOneSync() throws Exception {
+        plaid.firstRunGate.countDown();
+
+        List<String> replies = replay("sync-burst-single-item.json");
+
+        assertThat(replies).containsExactly("queued", "ignored", "coalesced", "coalesced", "ignored",
+                "coalesced", "coalesced", "coalesced");
+        awaitIdle();
+        assertThat(plaid.runStarts("token-item-a")).containsExactly(0);
+        assertThat(plaid.cursor("token-item-a")).isEqualTo(StubPlaid.INITIAL_PAGES);
+    }
+
+    @Test
+    void burstsForManyItemsRunOneSyncPerKnownItem() throws Exception {
+        plaid.firstRunGate.countDown();
+
+        replay("sync-burst-many-items.json");
+
+        awaitIdle();
+        assertThat(plaid.runStarts("token-item-a")).containsExactly(0);
+        assertThat(plaid.runStarts("token-item-b")).containsExactly(0);
+        assertThat(plaid.runStarts("token-item-c")).containsExactly(0);
+        assertThat(plaid.runStarts.keySet()).hasSize(3);
+    }
+
+    @Test
+    void updatesAnnouncedMidRunGetOneFollowUpPassFromTheStoredCursor() throws Exception {
+        replay("sync-burst-single-item.json");
+        plaid.awaitRunning("token-item-a");
+
+        // Plaid gets new data and re-announces it twice while the first pass is still paging
+        plaid.pagesAvailable = StubPlaid.INITIAL_PAGES + 2;
+        post(webhook("item-a"));
+        post(webhook("item-a"));
+        Thread.sleep(COALESCE_MS * 2);
+        plaid.firstRunGate.countDown();
+
+        awaitIdle();
+        assertThat(plaid.runStarts("token-item-a")).containsExactly(0, StubPlaid.INITIAL_PAGES);
+        assertThat(plaid.cursor("token-item-a")).isEqualTo(StubPlaid.INITIAL_PAGES + 2);
+    }
+
+    private List<String> replay(String recording) throws Exception {
+        JsonNode events;
+        try (InputStream in = getClass().getResourceAsStream("/webhooks/" + recording)) {
+            events = objectMapper.readTree(in);
+        }
+        List<String> replies = new ArrayList<>();
+        long start = System.nanoTime();
+        for (JsonNode event : events) {
+            long waitMs = event.path("atMs").asLong() - (System.nanoTime() - start) / 1_000_000;
+            if (waitMs > 0) {
+                Thread.sleep(waitMs);
+            }
+            replies.add(post(objectMapper.writeValueAsString(event.path("body"))));
+        }
+        return replies;
+    }
+
+    private String post(String body) throws Exception {
+        String reply = mvc.perform(post("/api/plaid/webhook").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(reply).path("status").asText();
+    }
+
+    private String webhook(String itemId) throws Exception {
+        return objectMapper.writeValueAsString(Map.of("webhook_type", "TRANSACTIONS",
+                "webhook_code", "SYNC_UPDATES_AVAILABLE", "item_id", itemId));
+    }
+
+    // Coalescing window closed and no sync running for 100 ms (covers the gap between passes)
+    private void awaitIdle() throws InterruptedException {
+        Thread.sleep(COALESCE_MS * 2);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        int quietTicks = 0;
+        while (quietTicks < 10 && System.nanoTime() < deadline) {
+            quietTicks = plaid.running.get() == 0 ? quietTicks + 1 : 0;
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Plaid's /transactions/sync as seen by a job: pages from the item's stored cursor up to what
+     * Plaid had when the run started. The item's first run waits on {@code firstRunGate} after
+     * its first page.
+     */
+    private static final class StubPlaid {
+
+        static final int INITIAL_PAGES = 3;
+
+        final CountDownLatch firstRunGate = new CountDownLatch(1);
+        final AtomicInteger running = new AtomicInteger();
+        final Map<String, Integer> cursors = new ConcurrentHashMap<>();
+        final Map<String, List<Integer>> runStarts = new ConcurrentHashMap<>();
+        volatile int pagesAvailable = INITIAL_PAGES;
+
+        SyncResult sync(String token, BiConsumer<SyncPageResult, String> onPage) throws InterruptedException {
+            running.incrementAndGet();
+            try {
+                int cursor = cursors.getOrDefault(token, 0);
+                List<Integer> starts = runStarts.computeIfAbsent(token, t -> Collections.synchronizedList(new ArrayList<>()));
+                starts.add(cursor);
+                boolean firstRun = starts.size() == 1;
+                int available = pagesAvailable;
+
+                int pages = 0;
+                while (cursor < available) {
+                    Thread.sleep(10);
+                    cursor++;
+                    cursors.put(token, cursor);
+                    onPage.accept(new SyncPageResult(100, 0, 0), "cursor-" + cursor);
+                    pages++;
+                    if (firstRun && pages == 1) {
+                        firstRunGate.await(10, TimeUnit.SECONDS);
+                    }
+                }
+                return new SyncResult(pages, pages * 100, 0, 0, true);
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+
+        void awaitRunning(String token) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (cursors.getOrDefault(token, 0) == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+        }
+
+        List<Integer> runStarts(String token) {
+            return runStarts.getOrDefault(token, List.of());
+        }
+
+        int cursor(String token) {
+            return cursors.getOrDefault(token, 0);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.budgetcaddie.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyAggregationTest {
+
+    @Test
+    void minorUnitsFollowTheCurrencyAndStayExact() {
+        assertThat(Money.toMinor(new BigDecimal("12.34"), "USD")).isEqualTo(1234);
+        assertThat(Money.toMinor(new BigDecimal("-5"), null)).isEqualTo(-500);
+        assertThat(Money.toMinor(new BigDecimal("1500"), "JPY")).isEqualTo(1500);
+        assertThat(Money.toMinor(new BigDecimal("1.005"), "KWD")).isEqualTo(1005);
+        assertThat(Money.toDecimal(1234, "CAD")).isEqualByComparingTo("12.34");
+
+        // A million dimes: a double running sum drifts off the cent, the long sum does not
+        long[] dimes = new long[1_000_000];
+        double drifting = 0;
+        for (int i = 0; i < dimes.length; i++) {
+            dimes[i] = Money.toMinor(new BigDecimal("0.10"), "USD");
+            drifting += 0.10;
+        }
+        assertThat(drifting).isNotEqualTo(100_000.0);
+        assertThat(Money.toDecimal(MoneyAggregation.sum(dimes, dimes.length), "USD")).isEqualByComparingTo("100000");
+
+        assertThatThrownBy(() -> new Money(1, "USD").plus(new Money(1, "CAD")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void sumsByKeyAndByPeriod() {
+        long[] amounts = { 1000, -250, 400, 75, 5000 };
+        int[] categories = { 0, 1, 0, 2, 1 };
+        int[] months = {
+                MoneyAggregation.epochMonth(LocalDate.of(2024, 1, 31)),
+                MoneyAggregation.epochMonth(LocalDate.of(2024, 2, 1)),
+                MoneyAggregation.epochMonth(LocalDate.of(2024, 2, 15)),
+                MoneyAggregation.epochMonth(LocalDate.of(2023, 12, 31)), // before the window
+                MoneyAggregation.epochMonth(LocalDate.of(2024, 3, 1)) };
+
+        long[] byCategory = new long[3];
+        long[] categoryCounts = new long[3];
+        MoneyAggregation.sumByKey(amounts, categories, amounts.length, byCategory, categoryCounts);
+        assertThat(byCategory).containsExactly(1400, 4750, 75);
+        assertThat(categoryCounts).containsExactly(2, 2, 1);
+
+        int january = MoneyAggregation.epochMonth(YearMonth.of(2024, 1));
+        long[] byMonth = new long[3];
+        long[] monthCounts = new long[3];
+        MoneyAggregation.sumByPeriod(amounts, months, amounts.length, january, byMonth, monthCounts);
+        assertThat(byMonth).containsExactly(1000, 150, 5000);
+        assertThat(monthCounts).containsExactly(1, 2, 1);
+        assertThat(MoneyAggregation.fromEpochMonth(january)).isEqualTo(YearMonth.of(2024, 1));
+    }
+}
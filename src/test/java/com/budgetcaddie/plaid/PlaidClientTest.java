@@ -0,0 +1,159 @@
+package com.budgetcaddie.plaid;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.SocketTimeoutException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class PlaidClientTest {
+
+    private static final String BASE = "https://plaid.test";
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer plaid = MockRestServiceServer.bindTo(restTemplate).build();
+    private final PlaidClient client = new PlaidClient();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(client, "clientId", "client");
+        ReflectionTestUtils.setField(client, "secret", "secret");
+        ReflectionTestUtils.setField(client, "plaidBaseUrl", BASE);
+        ReflectionTestUtils.setField(client, "maxAttempts", 3);
+        ReflectionTestUtils.setField(client, "retryBaseDelayMs", 1L);
+        ReflectionTestUtils.setField(client, "retryMaxDelayMs", 5_000L);
+        ReflectionTestUtils.setField(client, "limitFraction", 1.0);
+        ReflectionTestUtils.setField(client, "breakerFailureThreshold", 3);
+        ReflectionTestUtils.setField(client, "breakerOpenMs", 60_000L);
+        ReflectionTestUtils.setField(client, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(client, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    @Test
+    void retriesARateLimitedPageAfterRetryAfter() {
+        HttpHeaders retryAfter = new HttpHeaders();
+        retryAfter.set(HttpHeaders.RETRY_AFTER, "1");
+        plaid.expect(requestTo(BASE + "/transactions/sync"))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(retryAfter)
+                        .body("{\"error_code\": \"TRANSACTIONS_SYNC_LIMIT\"}"));
+        plaid.expect(requestTo(BASE + "/transactions/sync"))
+                .andRespond(withSuccess("{\"has_more\": false}", MediaType.APPLICATION_JSON));
+
+        long start = System.nanoTime();
+        String body = client.post("/transactions/sync", Map.of("access_token", "token-1")).getBody();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(body).contains("has_more");
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(900);
+        plaid.verify();
+    }
+
+    @Test
+    void givesUpWhenRetryAfterExceedsTheMaximumDelay() {
+        HttpHeaders retryAfter = new HttpHeaders();
+        retryAfter.set(HttpHeaders.RETRY_AFTER, "3600");
+        plaid.expect(ExpectedCount.once(), requestTo(BASE + "/transactions/sync"))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(retryAfter));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> client.post("/transactions/sync", Map.of("access_token", "token-1")))
+                .isInstanceOfSatisfying(PlaidApiException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(429));
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(1_000);
+        plaid.verify();
+    }
+
+    @Test
+    void doesNotReplayAPublicTokenExchangeAfterAServerOrIoError() {
+        plaid.expect(ExpectedCount.once(), requestTo(BASE + "/item/public_token/exchange"))
+                .andRespond(withStatus(HttpStatus.INTERNAL_SERVER_ERROR));
+        plaid.expect(ExpectedCount.once(), requestTo(BASE + "/item/public_token/exchange"))
+                .andRespond(request -> {
+                    throw new SocketTimeoutException("read timed out");
+                });
+
+        assertThatThrownBy(() -> client.post("/item/public_token/exchange", Map.of("public_token", "public-1")))
+                .isInstanceOf(PlaidApiException.class);
+        assertThatThrownBy(() -> client.post("/item/public_token/exchange", Map.of("public_token", "public-2")))
+                .isInstanceOf(ResourceAccessException.class);
+        plaid.verify();
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        plaid.expect(ExpectedCount.once(), requestTo(BASE + "/accounts/get"))
+                .andRespond(withStatus(HttpStatus.BAD_REQUEST).body("{\"error_code\": \"INVALID_ACCESS_TOKEN\"}"));
+
+        assertThatThrownBy(() -> client.post("/accounts/get", Map.of("access_token", "bad")))
+                .isInstanceOfSatisfying(PlaidApiException.class,
+                        e -> assertThat(e.getStatusCode().value()).isEqualTo(400));
+        plaid.verify();
+    }
+
+    @Test
+    void opensTheEndpointCircuitAfterRepeatedServerErrors() {
+        // Lift the per-Item limit so the retries are not paced
+        ReflectionTestUtils.setField(client, "limitFraction", 100.0);
+        // One call uses all three attempts; the breaker opens on the third failure
+        plaid.expect(ExpectedCount.times(3), requestTo(BASE + "/transactions/get"))
+                .andRespond(withStatus(HttpStatus.BAD_GATEWAY));
+
+        assertThatThrownBy(() -> client.post("/transactions/get", Map.of("access_token", "token-1")))
+                .isInstanceOf(PlaidApiException.class);
+        assertThatThrownBy(() -> client.post("/transactions/get", Map.of("access_token", "token-2")))
+                .isInstanceOf(PlaidCircuitOpenException.class);
+        plaid.verify();
+    }
+
+    @Test
+    void halfOpenTrialThatThrowsUnexpectedlyDoesNotBlockTheEndpoint() {
+        ReflectionTestUtils.setField(client, "limitFraction", 100.0);
+        // Open immediately turns half-open, so the call after the outage is the trial
+        ReflectionTestUtils.setField(client, "breakerOpenMs", 0L);
+        plaid.expect(ExpectedCount.times(3), requestTo(BASE + "/transactions/get"))
+                .andRespond(withStatus(HttpStatus.BAD_GATEWAY));
+        plaid.expect(ExpectedCount.times(2), requestTo(BASE + "/transactions/get"))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        assertThatThrownBy(() -> client.post("/transactions/get", Map.of("access_token", "token-1")))
+                .isInstanceOf(PlaidApiException.class);
+        assertThatThrownBy(() -> client.post("/transactions/get", Map.of("access_token", "token-1"),
+                response -> {
+                    throw new IllegalStateException("extractor failed");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(client.post("/transactions/get", Map.of("access_token", "token-1")).getBody()).isEqualTo("{}");
+        plaid.verify();
+    }
+
+    @Test
+    void tokenBucketPacesCallsAtItsRateAndHalvesAfterARateLimit() {
+        TokenBucket bucket = new TokenBucket(60); // one per second, burst of one
+
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isBetween(900_000_000L, 1_000_000_000L);
+
+        bucket.slowDown();
+        assertThat(bucket.currentRatePerMinute()).isCloseTo(30.0, within(1e-9));
+        bucket.speedUp();
+        assertThat(bucket.currentRatePerMinute()).isCloseTo(33.0, within(1e-9));
+    }
+}
@@ -0,0 +1,53 @@
+package com.budgetcaddie.plaid;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlaidMetricsInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PlaidMetricsInterceptor interceptor = new PlaidMetricsInterceptor(registry);
+
+    @Test
+    void tagsCallsByEndpointAndOutcome() throws Exception {
+        call("/transactions/sync", HttpStatus.OK);
+        call("/transactions/sync", HttpStatus.OK);
+        call("/transactions/sync", HttpStatus.TOO_MANY_REQUESTS);
+        call("/accounts/get", HttpStatus.BAD_GATEWAY);
+
+        assertThat(count("/transactions/sync", "SUCCESS")).isEqualTo(2);
+        assertThat(count("/transactions/sync", "CLIENT_ERROR")).isEqualTo(1);
+        assertThat(count("/accounts/get", "SERVER_ERROR")).isEqualTo(1);
+    }
+
+    @Test
+    void countsIoFailuresAsErrors() {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST, URI.create("https://plaid.test/item/get"));
+
+        assertThatThrownBy(() -> interceptor.intercept(request, new byte[0], (req, body) -> {
+            throw new IOException("connection reset");
+        })).isInstanceOf(IOException.class);
+
+        assertThat(count("/item/get", "IO_ERROR")).isEqualTo(1);
+    }
+
+    private void call(String path, HttpStatus status) throws IOException {
+        MockClientHttpRequest request = new MockClientHttpRequest(HttpMethod.POST, URI.create("https://plaid.test" + path));
+        interceptor.intercept(request, new byte[0], (req, body) -> new MockClientHttpResponse(new byte[0], status));
+    }
+
+    private long count(String endpoint, String outcome) {
+        return registry.get("plaid.requests").tag("endpoint", endpoint).tag("outcome", outcome).timer().count();
+    }
+}
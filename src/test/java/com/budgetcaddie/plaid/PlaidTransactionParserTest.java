@@ -0,0 +1,176 @@
+package com.budgetcaddie.plaid;
+
+import com.budgetcaddie.model.Transaction;
+import com.budgetcaddie.money.Money;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaidTransactionParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PlaidTransactionParser parser = new PlaidTransactionParser(objectMapper);
+
+    @Test
+    void parsesAllThreeDeltasAndPageFields() throws Exception {
+        String json = """
+                {
+                  "accounts": [{"account_id": "acct-1", "balances": {"current": 10.5}}],
+                  "added": [{
+                    "transaction_id": "tx-1",
+                    "account_id": "acct-1",
+                    "amount": 12.34,
+                    "name": "Blue Bottle",
+                    "date": "2024-05-01",
+                    "iso_currency_code": "USD",
+                    "merchant_name": null,
+                    "location": {"city": "Oakland"},
+                    "personal_finance_category": {"primary": "FOOD_AND_DRINK", "detailed": "FOOD_AND_DRINK_COFFEE"}
+                  }],
+                  "modified": [{"transaction_id": "tx-2", "account_id": "acct-1", "amount": -5,
+                                "name": "Refund", "date": "2024-05-02"}],
+                  "removed": [{"transaction_id": "tx-3", "account_id": "acct-1"}],
+                  "next_cursor": "cursor-2",
+                  "has_more": true
+                }
+                """;
+
+        SyncPage page = parser.parsePage(stream(json));
+
+        assertThat(page.added()).hasSize(1);
+        Transaction added = page.added().get(0);
+        assertThat(added.getPlaidTransactionId()).isEqualTo("tx-1");
+        assertThat(added.getAccountId()).isEqualTo("acct-1");
+        assertThat(added.getAmountMinor()).isEqualTo(1234);
+        assertThat(added.getAmount()).isEqualByComparingTo("12.34");
+        assertThat(added.getName()).isEqualTo("Blue Bottle");
+        assertThat(added.getDate()).isEqualTo(LocalDate.of(2024, 5, 1));
+        assertThat(added.getCurrencyCode()).isEqualTo("USD");
+        assertThat(added.getMerchantName()).isNull();
+        assertThat(added.getCategory()).isEqualTo("FOOD_AND_DRINK");
+        assertThat(added.getSubcategory()).isEqualTo("FOOD_AND_DRINK_COFFEE");
+
+        assertThat(page.modified()).extracting(Transaction::getAmountMinor).containsExactly(-500L);
+        assertThat(page.removed()).containsExactly("tx-3");
+        assertThat(page.hasMore()).isTrue();
+        assertThat(page.nextCursor()).isEqualTo("cursor-2");
+        assertThat(page.totalTransactions()).isEqualTo(-1);
+    }
+
+    @Test
+    void readsTransactionsGetPagesIntoAdded() throws Exception {
+        String json = """
+                {"total_transactions": 1234, "transactions": [
+                  {"transaction_id": "tx-9", "account_id": "acct-2", "amount": 1, "name": "ATM", "date": "2023-01-31"}
+                ]}
+                """;
+
+        SyncPage page = parser.parsePage(stream(json));
+
+        assertThat(page.totalTransactions()).isEqualTo(1234);
+        assertThat(page.added()).extracting(Transaction::getPlaidTransactionId).containsExactly("tx-9");
+    }
+
+    @Test
+    void skipsRowsWithoutANumericAmount() throws Exception {
+        String json = """
+                {"added": [
+                  {"transaction_id": "tx-missing", "account_id": "acct-1", "name": "A", "date": "2024-05-01"},
+                  {"transaction_id": "tx-null", "account_id": "acct-1", "amount": null, "name": "B", "date": "2024-05-01"},
+                  {"transaction_id": "tx-text", "account_id": "acct-1", "amount": "n/a", "name": "C", "date": "2024-05-01"},
+                  {"transaction_id": "tx-ok", "account_id": "acct-1", "amount": 0, "name": "D", "date": "2024-05-01"}
+                ]}
+                """;
+
+        SyncPage page = parser.parsePage(stream(json));
+
+        assertThat(page.added()).extracting(Transaction::getPlaidTransactionId).containsExactly("tx-ok");
+    }
+
+    /**
+     * Bytes allocated per 500-row page: old String -> JsonNode tree -> Transaction path vs the
+     * streaming parser. The body is already in memory for both, so this undercounts the tree
+     * path, which also had to buffer the HTTP body into a String.
+     */
+    @Test
+    void streamingAllocatesLessPerPageThanTreeParsing() throws Exception {
+        byte[] body = syncPage(500).getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < 20; i++) {
+            parseAsTree(body);
+            parser.parsePage(new ByteArrayInputStream(body));
+        }
+
+        long treeBytes = allocatedBy(() -> parseAsTree(body));
+        long streamingBytes = allocatedBy(() -> parser.parsePage(new ByteArrayInputStream(body)));
+
+        assertThat(streamingBytes).isLessThan(treeBytes);
+    }
+
+    private List<Transaction> parseAsTree(byte[] body) throws Exception {
+        JsonNode root = objectMapper.readTree(new String(body, StandardCharsets.UTF_8));
+        List<Transaction> added = new ArrayList<>();
+        for (JsonNode t : root.path("added")) {
+            Transaction tx = new Transaction();
+            tx.setPlaidTransactionId(t.path("transaction_id").asText());
+            tx.setAccountId(t.path("account_id").asText());
+            tx.setAmountMinor(Money.toMinor(t.path("amount").decimalValue(),
+                    t.path("iso_currency_code").asText(null)));
+            tx.setName(t.path("name").asText());
+            JsonNode cat = t.path("personal_finance_category");
+            tx.setCategory(cat.path("primary").asText(null));
+            tx.setSubcategory(cat.path("detailed").asText(null));
+            tx.setDate(LocalDate.parse(t.path("date").asText()));
+            tx.setCurrencyCode(t.path("iso_currency_code").asText(null));
+            tx.setMerchantName(t.path("merchant_name").asText(null));
+            added.add(tx);
+        }
+        return added;
+    }
+
+    private static String syncPage(int rows) {
+        StringBuilder json = new StringBuilder("{\"added\": [");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"transaction_id\": \"tx-").append(i)
+                    .append("\", \"account_id\": \"acct-").append(i % 3)
+                    .append("\", \"amount\": ").append(10 + i % 90).append(".25")
+                    .append(", \"name\": \"Merchant ").append(i)
+                    .append("\", \"date\": \"2024-03-").append(String.format("%02d", 1 + i % 28))
+                    .append("\", \"iso_currency_code\": \"USD\", \"merchant_name\": \"Merchant\"")
+                    .append(", \"location\": {\"address\": null, \"city\": \"Toronto\", \"region\": \"ON\"}")
+                    .append(", \"personal_finance_category\": {\"primary\": \"GENERAL_MERCHANDISE\",")
+                    .append(" \"detailed\": \"GENERAL_MERCHANDISE_OTHER\", \"confidence_level\": \"HIGH\"}}");
+        }
+        return json.append("], \"modified\": [], \"removed\": [], \"next_cursor\": \"c\", \"has_more\": false}")
+                .toString();
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private interface Work {
+        Object run() throws Exception;
+    }
+
+    private static long allocatedBy(Work work) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        work.run();
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+}
@@ -0,0 +1,79 @@
+package com.budgetcaddie.plaid;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.Jwts;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PlaidWebhookVerifierTest {
+
+    private static final byte[] BODY = "{}".getBytes(StandardCharsets.UTF_8);
+    private static final String KEY_ENDPOINT = "/webhook_verification_key/get";
+
+    private final KeyPair keyPair = Jwts.SIG.ES256.keyPair().build();
+    private final PlaidClient plaidClient = mock(PlaidClient.class);
+    private final PlaidWebhookVerifier verifier = new PlaidWebhookVerifier();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(verifier, "enabled", true);
+        ReflectionTestUtils.setField(verifier, "unknownKeyTtlMs", 300_000L);
+        ReflectionTestUtils.setField(verifier, "keyFetchesPerMinute", 5);
+        ReflectionTestUtils.setField(verifier, "plaidClient", plaidClient);
+        ReflectionTestUtils.setField(verifier, "objectMapper", new ObjectMapper());
+        when(plaidClient.post(eq(KEY_ENDPOINT), anyMap()))
+                .thenThrow(new PlaidApiException(HttpStatus.BAD_REQUEST, "{\"error_code\":\"INVALID_INPUT\"}"));
+    }
+
+    @Test
+    void unknownKeyIdIsFetchedOnce() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(verifier.isValid(token("random-kid"), BODY)).isFalse();
+        }
+
+        verify(plaidClient, times(1)).post(eq(KEY_ENDPOINT), anyMap());
+    }
+
+    @Test
+    void malformedKeyIdIsNeverFetched() {
+        assertThat(verifier.isValid(token("../../item/remove"), BODY)).isFalse();
+        assertThat(verifier.isValid(token("x".repeat(65)), BODY)).isFalse();
+
+        verify(plaidClient, never()).post(eq(KEY_ENDPOINT), anyMap());
+    }
+
+    @Test
+    void distinctKeyIdsStopAtTheFetchLimit() {
+        for (int i = 0; i < 20; i++) {
+            assertThat(verifier.isValid(token("kid-" + i), BODY)).isFalse();
+        }
+
+        verify(plaidClient, times(5)).post(eq(KEY_ENDPOINT), anyMap());
+    }
+
+    private String token(String keyId) {
+        return Jwts.builder()
+                .header().keyId(keyId).and()
+                .issuedAt(new Date())
+                .claim("request_body_sha256", "00")
+                .signWith(keyPair.getPrivate(), Jwts.SIG.ES256)
+                .compact();
+    }
+}
@@ -0,0 +1,92 @@
+package com.budgetcaddie.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Login lookup p99 as the users table grows from 1k to 1M rows. With the lower(username) /
+ * lower(email) indexes the lookup is an index probe, so p99 should stay flat.
+ *
+ * Needs the local Postgres and inserts (then deletes) a million rows, so it only runs on request:
+ * ./mvnw test -Dtest=UserLookupLoadTest -Dbudgetcaddie.perf=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "budgetcaddie.perf", matches = "true")
+class UserLookupLoadTest {
+
+    private static final int[] POPULATIONS = { 1_000, 10_000, 100_000, 1_000_000 };
+    private static final int LOOKUPS = 2_000;
+    private static final int INSERT_BATCH = 5_000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void loginLookupP99StaysFlatAsUsersGrow() {
+        String prefix = "load-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        int inserted = 0;
+        long firstP99 = -1;
+        long lastP99 = -1;
+
+        try {
+            for (int population : POPULATIONS) {
+                inserted = insertUsers(prefix, inserted, population);
+                jdbcTemplate.execute("ANALYZE users");
+
+                measureP99Micros(prefix, population, LOOKUPS / 4); // warm-up
+                long p99 = measureP99Micros(prefix, population, LOOKUPS);
+                System.out.printf("login lookup with %,d users: p99 %d us%n", population, p99);
+
+                if (firstP99 < 0) {
+                    firstP99 = p99;
+                }
+                lastP99 = p99;
+            }
+        } finally {
+            jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", prefix + "%");
+        }
+
+        // Generous bound; a full scan at 1M rows would be orders of magnitude slower
+        assertThat(lastP99).isLessThan(firstP99 * 5 + 2_000);
+    }
+
+    private int insertUsers(String prefix, int from, int to) {
+        for (int start = from; start < to; start += INSERT_BATCH) {
+            List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+            for (int i = start; i < Math.min(to, start + INSERT_BATCH); i++) {
+                rows.add(new Object[] { prefix + i, prefix + i + "@example.com", "not-a-real-hash" });
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO users (username, email, password) VALUES (?, ?, ?)", rows);
+        }
+        return to;
+    }
+
+    private long measureP99Micros(String prefix, int population, int lookups) {
+        long[] micros = new long[lookups];
+        for (int i = 0; i < lookups; i++) {
+            int n = ThreadLocalRandom.current().nextInt(population);
+            // Alternate username and upper-cased email logins, as AuthController.login sees them
+            String login = i % 2 == 0 ? prefix + n : (prefix + n + "@example.com").toUpperCase();
+
+            long start = System.nanoTime();
+            assertThat(userRepository.findByUsernameOrEmail(login)).hasSize(1);
+            micros[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(micros);
+        return micros[(int) Math.ceil(lookups * 0.99) - 1];
+    }
+}
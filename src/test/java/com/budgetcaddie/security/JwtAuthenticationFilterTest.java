@@ -0,0 +1,70 @@
+package com.budgetcaddie.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtAuthenticationFilterTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil(100, 60_000, new SimpleMeterRegistry());
+    private final CurrentUserResolver resolver = new CurrentUserResolver();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void bearerTokenAuthenticatesAsTheUserItWasIssuedTo() throws Exception {
+        Optional<Long> seenByController = filter("Bearer " + jwtUtil.generateToken("alice", 42L));
+
+        assertThat(seenByController).contains(42L);
+    }
+
+    @Test
+    void missingTamperedOrLegacyTokensStayAnonymous() throws Exception {
+        String token = jwtUtil.generateToken("alice", 42L);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(filter(null)).isEmpty();
+        assertThat(filter("Basic YWxpY2U6c2VjcmV0")).isEmpty();
+        assertThat(filter("Bearer " + tampered)).isEmpty();
+        // Issued before tokens carried the user id; the filter never falls back to a user lookup
+        assertThat(filter("Bearer " + jwtUtil.generateToken("alice"))).isEmpty();
+    }
+
+    private Optional<Long> filter(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/budgets");
+        if (authorization != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        @SuppressWarnings("unchecked")
+        Optional<Long>[] seen = new Optional[1];
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) {
+                seen[0] = resolver.currentUserId();
+            }
+        });
+        try {
+            new JwtAuthenticationFilter(jwtUtil).doFilter(request, new MockHttpServletResponse(), chain);
+            return seen[0];
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.budgetcaddie.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginThrottleTest {
+
+    private static final long WINDOW_MS = 60_000;
+
+    private final AtomicLong now = new AtomicLong(10 * WINDOW_MS);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final LoginThrottle throttle = new LoginThrottle(1024, WINDOW_MS, 3, 5, registry, now::get, 42);
+
+    @Test
+    void accountIsRefusedAfterLimitUntilTheWindowRollsOver() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.check("Alice", "10.0.0." + i)).isNull();
+            throttle.recordFailure("Alice", "10.0.0." + i);
+        }
+
+        // Case-insensitive like the login lookup, from any address
+        assertThat(throttle.check("alice", "10.0.0.99")).isEqualTo(LoginThrottle.Reason.ACCOUNT);
+        assertThat(throttle.check("bob", "10.0.0.99")).isNull();
+
+        now.addAndGet(WINDOW_MS);
+        assertThat(throttle.check("alice", "10.0.0.99")).isNull();
+        assertThat(registry.get("auth.login.throttled").tag("reason", "account").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void ipIsRefusedAfterSprayingManyAccounts() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure("user" + i, "203.0.113.7");
+        }
+
+        assertThat(throttle.check("someone-else", "203.0.113.7")).isEqualTo(LoginThrottle.Reason.IP);
+        assertThat(throttle.check("someone-else", "203.0.113.8")).isNull();
+    }
+
+    @Test
+    void stringHashCollisionsDoNotShareAStripe() {
+        // Same String.hashCode, and still after the lower-casing of account keys
+        String victim = "an.smith";
+        String attacker = "c0.smith";
+        assertThat(victim.hashCode()).isEqualTo(attacker.hashCode());
+
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure(victim, null);
+        }
+        assertThat(throttle.check(victim, null)).isEqualTo(LoginThrottle.Reason.ACCOUNT);
+        assertThat(throttle.check(attacker, null)).isNull();
+    }
+
+    @Test
+    void concurrentFailuresAreAllCounted() throws Exception {
+        LoginThrottle wide = new LoginThrottle(1024, WINDOW_MS, 4_000, Integer.MAX_VALUE, registry, now::get,
+                42);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    wide.recordFailure("carol", null);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(wide.check("carol", null)).isEqualTo(LoginThrottle.Reason.ACCOUNT);
+    }
+}
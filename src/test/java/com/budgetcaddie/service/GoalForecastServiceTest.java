@@ -0,0 +1,94 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.model.Goal;
+import com.budgetcaddie.model.Transaction;
+import com.budgetcaddie.money.Money;
+import com.budgetcaddie.repository.CategorySpendRepository;
+import com.budgetcaddie.repository.GoalRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GoalForecastServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 15);
+
+    private final GoalRepository goalRepository = mock(GoalRepository.class);
+    private final CategorySpendRepository categorySpendRepository = mock(CategorySpendRepository.class);
+    private final GoalForecastService service = new GoalForecastService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "historyMonths", 6);
+        ReflectionTestUtils.setField(service, "goalRepository", goalRepository);
+        ReflectionTestUtils.setField(service, "categorySpendRepository", categorySpendRepository);
+    }
+
+    @Test
+    void projectsInExactMinorUnits() {
+        Goal goal = goal("USD", "1000.00", "100.00", "acct-usd");
+        // 600.00 saved over six months: 100.00 a month, 900.00 to go
+        when(categorySpendRepository.findNetByAccount(anyCollection(), any(), any()))
+                .thenReturn(Map.of("acct-usd", new Money(-60_000, "USD")));
+
+        service.recompute(List.of(goal), TODAY);
+
+        assertThat(goal.getForecast().getMonthlySavings()).isEqualByComparingTo("100.00");
+        assertThat(goal.getForecast().getCurrencyCode()).isEqualTo("USD");
+        // ceil(9 * 30.4375) days
+        assertThat(goal.getForecast().getProjectedCompletionDate()).isEqualTo(TODAY.plusDays(274));
+    }
+
+    @Test
+    void rejectsAccountsInAnotherCurrency() {
+        Goal goal = goal("USD", "1000.00", "0", "acct-usd", "acct-cad");
+        when(categorySpendRepository.findNetByAccount(anyCollection(), any(), any()))
+                .thenReturn(Map.of("acct-usd", new Money(-10_000, "USD"), "acct-cad", new Money(-10_000, "CAD")));
+
+        assertThatThrownBy(() -> service.recompute(List.of(goal), TODAY))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void syncLeavesMixedCurrencyGoalsWithoutAForecast() {
+        Goal mixed = goal("USD", "1000.00", "0", "acct-usd", "acct-cad");
+        Goal single = goal("USD", "1000.00", "0", "acct-usd");
+        when(goalRepository.findLinkedToAnyAccount(anyCollection())).thenReturn(List.of(mixed, single));
+        when(categorySpendRepository.findNetByAccount(anyCollection(), any(), any()))
+                .thenReturn(Map.of("acct-usd", new Money(-60_000, "USD"), "acct-cad", new Money(-10_000, "CAD")));
+
+        Transaction tx = new Transaction();
+        tx.setAccountId("acct-cad");
+        service.onTransactionsChanged(new TransactionsChangedEvent(1L, 1L, List.of(), List.of(tx)));
+
+        assertThat(mixed.getForecast().getMonthlySavings()).isNull();
+        assertThat(mixed.getForecast().getOnTrack()).isFalse();
+        assertThat(single.getForecast().getMonthlySavings()).isEqualByComparingTo("100.00");
+        verify(goalRepository).saveAll(List.of(mixed, single));
+    }
+
+    private static Goal goal(String currencyCode, String target, String saved, String... accountIds) {
+        Goal goal = new Goal();
+        goal.setCurrencyCode(currencyCode);
+        goal.setTargetAmount(new BigDecimal(target));
+        goal.setSavedAmount(new BigDecimal(saved));
+        goal.setTargetDate(TODAY.plusYears(1));
+        goal.setAccountIds(Set.of(accountIds));
+        return goal;
+    }
+}
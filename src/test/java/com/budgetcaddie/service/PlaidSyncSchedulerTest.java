@@ -0,0 +1,32 @@
+package com.budgetcaddie.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlaidSyncSchedulerTest {
+
+    private final PlaidSyncScheduler scheduler = new PlaidSyncScheduler();
+
+    @Test
+    void startDelaysRiseWithQueuePosition() {
+        ReflectionTestUtils.setField(scheduler, "jitterMs", 30_000L);
+        int count = 500;
+
+        long previous = -1;
+        for (int i = 0; i < count; i++) {
+            long delay = scheduler.startDelay(i, count);
+            assertThat(delay).isGreaterThan(previous).isLessThan(30_000L);
+            previous = delay;
+        }
+    }
+
+    @Test
+    void noJitterStartsEverythingAtOnce() {
+        ReflectionTestUtils.setField(scheduler, "jitterMs", 0L);
+
+        assertThat(scheduler.startDelay(0, 3)).isZero();
+        assertThat(scheduler.startDelay(2, 3)).isZero();
+    }
+}
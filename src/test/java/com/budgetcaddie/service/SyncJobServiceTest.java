@@ -0,0 +1,146 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.model.PlaidItem;
+import com.budgetcaddie.repository.PlaidItemRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SyncJobServiceTest {
+
+    private final PlaidItemRepository itemRepository = mock(PlaidItemRepository.class);
+    private final PlaidSyncService syncService = mock(PlaidSyncService.class);
+    private final SyncJobService jobService = new SyncJobService();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        PlaidItem item = new PlaidItem();
+        item.setId(7L);
+        item.setItemId("item-7");
+        item.setAccessToken("token-7");
+        when(itemRepository.findByAccessToken("token-7")).thenReturn(Optional.of(item));
+
+        // Reports one page, then blocks until the test lets the run finish
+        when(syncService.syncItem(eq("token-7"), anyInt(), any())).thenAnswer(invocation -> {
+            BiConsumer<SyncPageResult, String> onPage = invocation.getArgument(2);
+            onPage.accept(new SyncPageResult(50, 2, 1), "cursor-1");
+            release.await(5, TimeUnit.SECONDS);
+            return new SyncResult(1, 50, 2, 1, true);
+        });
+
+        ReflectionTestUtils.setField(jobService, "threads", 2);
+        ReflectionTestUtils.setField(jobService, "queueCapacity", 10);
+        ReflectionTestUtils.setField(jobService, "retentionMs", 60_000L);
+        ReflectionTestUtils.setField(jobService, "busyRetryMs", 10L);
+        ReflectionTestUtils.setField(jobService, "itemRepository", itemRepository);
+        ReflectionTestUtils.setField(jobService, "syncService", syncService);
+        ReflectionTestUtils.setField(jobService, "meterRegistry", new SimpleMeterRegistry());
+        jobService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        jobService.stop();
+    }
+
+    @Test
+    void duplicateSubmissionsCollapseIntoTheQueuedOrRunningJob() throws Exception {
+        SyncJob first = jobService.submit("token-7");
+        awaitPages(first, 1);
+        assertThat(first.getState()).isEqualTo(SyncJob.State.RUNNING);
+        assertThat(first.getCursor()).isEqualTo("cursor-1");
+        assertThat(first.getRowsAdded()).isEqualTo(50);
+
+        // Two more submissions mid-run join the job and ask for a single follow-up pass
+        assertThat(jobService.submit("token-7")).isSameAs(first);
+        assertThat(jobService.submit("token-7")).isSameAs(first);
+
+        release.countDown();
+        awaitFinished(first);
+        assertThat(first.getState()).isEqualTo(SyncJob.State.SUCCEEDED);
+        assertThat(first.getCaughtUp()).isTrue();
+        assertThat(first.getPasses()).isEqualTo(2);
+        assertThat(first.getPagesFetched()).isEqualTo(2);
+        verify(syncService, times(2)).syncItem(eq("token-7"), anyInt(), any());
+
+        // Once finished, the next submission is a new job; the old one stays queryable
+        SyncJob next = jobService.submit("token-7");
+        assertThat(next.getId()).isNotEqualTo(first.getId());
+        assertThat(jobService.find(first.getId())).contains(first);
+    }
+
+    @Test
+    void jobWaitsForAScheduledRunHoldingTheItem() throws Exception {
+        when(syncService.syncItem(eq("token-7"), anyInt(), any()))
+                .thenThrow(new SyncInProgressException("item-7"))
+                .thenThrow(new SyncInProgressException("item-7"))
+                .thenReturn(new SyncResult(1, 50, 0, 0, true));
+
+        SyncJob job = jobService.submit("token-7");
+        awaitFinished(job);
+
+        assertThat(job.getState()).isEqualTo(SyncJob.State.SUCCEEDED);
+        assertThat(job.getPasses()).isEqualTo(1);
+        verify(syncService, times(3)).syncItem(eq("token-7"), anyInt(), any());
+    }
+
+    @Test
+    void scheduledAndOnDemandRunsShareOneGuard() {
+        SyncProgress progress = new SyncProgress("...item-7");
+
+        assertThat(progress.tryQueue()).isTrue();
+        assertThat(progress.tryStart()).isTrue();
+        assertThat(progress.tryStart()).isFalse();
+        assertThat(progress.tryQueue()).isFalse();
+
+        progress.succeed(true);
+        assertThat(progress.tryQueue()).isTrue();
+        // The queued run failed before starting; the item must be free to queue again
+        progress.releaseQueued();
+        assertThat(progress.getState()).isEqualTo(SyncProgress.State.IDLE);
+        assertThat(progress.tryQueue()).isTrue();
+    }
+
+    @Test
+    void unknownAccessTokenIsRejected() {
+        when(itemRepository.findByAccessToken("nope")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> jobService.submit("nope")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void awaitPages(SyncJob job, int pages) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (job.getPagesFetched() < pages && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void awaitFinished(SyncJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.budgetcaddie.service;
+
+import com.budgetcaddie.controller.PlaidController;
+import com.budgetcaddie.model.Transaction;
+import com.budgetcaddie.money.Money;
+import com.budgetcaddie.repository.TransactionRepository;
+import com.budgetcaddie.security.AuthenticatedUser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Rows/sec of sync ingestion against a local Plaid stub, old per-row path vs batched pages.
+ *
+ * Needs the same local Postgres as the rest of the suite, so it only runs on request:
+ * ./mvnw test -Dtest=SyncThroughputTest -Dbudgetcaddie.perf=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "budgetcaddie.perf", matches = "true")
+class SyncThroughputTest {
+
+    private static final int PAGES = 20;
+    private static final int PAGE_SIZE = 500;
+    private static final long JOB_TIMEOUT_MS = 120_000;
+
+    @Autowired
+    private PlaidController plaidController;
+
+    @Autowired
+    private SyncJobService syncJobService;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void reportsRowsPerSecondBeforeAndAfter() throws Exception {
+        String runId = "perf-" + UUID.randomUUID().toString().substring(0, 8);
+        String accessToken = "access-" + runId;
+        int rows = PAGES * PAGE_SIZE;
+
+        // Synced rows are owned through the item, so the run needs a user and a linked item
+        Long userId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email, password) VALUES (?, ?, ?) RETURNING id", Long.class,
+                runId, runId + "@example.com", "not-a-real-hash");
+        jdbcTemplate.update("INSERT INTO plaid_items (user_id, item_id, access_token, created_at) VALUES (?, ?, ?, now())",
+                userId, "item-" + runId, accessToken);
+
+        try {
+            // Before: one exists check and one save per row, as syncTransactions used to do
+            long start = System.nanoTime();
+            for (String body : pages(runId, runId + "-legacy")) {
+                for (JsonNode t : objectMapper.readTree(body).path("added")) {
+                    String plaidId = t.path("transaction_id").asText();
+                    if (!transactionRepository.existsByPlaidTransactionId(plaidId)) {
+                        Transaction tx = legacyTransaction(t);
+                        tx.setUserId(userId);
+                        transactionRepository.save(tx);
+                    }
+                }
+            }
+            long legacyNanos = System.nanoTime() - start;
+
+            // After: the real endpoint, fed by a stub standing in for Plaid. It submits a job, so
+            // the time runs from the request until the job has stored every page
+            MockRestServiceServer plaidStub = MockRestServiceServer.bindTo(restTemplate).build();
+            for (String body : pages(runId, runId + "-batched")) {
+                plaidStub.expect(requestTo(endsWith("/transactions/sync")))
+                        .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+            }
+
+            SecurityContextHolder.getContext().setAuthentication(
+                    UsernamePasswordAuthenticationToken.authenticated(new AuthenticatedUser(userId, runId), null, List.of()));
+            start = System.nanoTime();
+            ResponseEntity<?> response = plaidController.syncTransactions(Map.of("access_token", accessToken));
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+            SyncJob job = awaitFinished(((SyncJob) response.getBody()).getId(), userId);
+            long batchedNanos = System.nanoTime() - start;
+
+            plaidStub.verify();
+            assertThat(job.getState()).isEqualTo(SyncJob.State.SUCCEEDED);
+            assertThat(job.getRowsAdded()).isEqualTo(rows);
+            assertThat(job.getRowsModified()).isZero();
+            assertThat(job.getRowsRemoved()).isZero();
+
+            System.out.printf("sync ingestion, %d rows: per-row %.0f rows/sec, batched %.0f rows/sec%n",
+                    rows, rowsPerSecond(rows, legacyNanos), rowsPerSecond(rows, batchedNanos));
+        } finally {
+            SecurityContextHolder.clearContext();
+            // Rollups are keyed by account only; the run's account ids carry its run id
+            String runAccounts = "acct-" + runId + "-%";
+            jdbcTemplate.update("DELETE FROM transactions WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM category_month_spend WHERE account_id LIKE ?", runAccounts);
+            jdbcTemplate.update("DELETE FROM merchant_month_spend WHERE account_id LIKE ?", runAccounts);
+            jdbcTemplate.update("DELETE FROM plaid_items WHERE user_id = ?", userId);
+            jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+        }
+    }
+
+    private SyncJob awaitFinished(String jobId, Long userId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + JOB_TIMEOUT_MS;
+        while (true) {
+            SyncJob job = syncJobService.find(jobId, userId).orElseThrow();
+            if (job.isFinished()) {
+                return job;
+            }
+            assertThat(System.currentTimeMillis()).as("sync job %s finished", jobId).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private List<String> pages(String runId, String idPrefix) throws Exception {
+        List<String> pages = new ArrayList<>(PAGES);
+        for (int p = 0; p < PAGES; p++) {
+            List<Map<String, Object>> added = new ArrayList<>(PAGE_SIZE);
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                added.add(plaidTransaction(idPrefix + "-" + p + "-" + i, "acct-" + runId + "-" + (i % 4), i));
+            }
+            Map<String, Object> page = new HashMap<>();
+            page.put("added", added);
+            page.put("modified", List.of());
+            page.put("removed", List.of());
+            page.put("has_more", p < PAGES - 1);
+            page.put("next_cursor", idPrefix + "-cursor-" + p);
+            pages.add(objectMapper.writeValueAsString(page));
+        }
+        return pages;
+    }
+
+    private static Map<String, Object> plaidTransaction(String transactionId, String accountId, int i) {
+        Map<String, Object> t = new HashMap<>();
+        t.put("transaction_id", transactionId);
+        t.put("account_id", accountId);
+        t.put("amount", 12.34 + i);
+        t.put("name", "Coffee Shop #" + i);
+        t.put("date", LocalDate.now().minusDays(i % 700).toString());
+        t.put("iso_currency_code", "USD");
+        t.put("merchant_name", "Coffee Shop");
+        t.put("personal_finance_category", Map.of("primary", "FOOD_AND_DRINK", "detailed", "FOOD_AND_DRINK_COFFEE"));
+        return t;
+    }
+
+    private static Transaction legacyTransaction(JsonNode t) {
+        Transaction tx = new Transaction();
+        tx.setPlaidTransactionId(t.path("transaction_id").asText());
+        tx.setAccountId(t.path("account_id").asText());
+        tx.setAmountMinor(Money.toMinor(t.path("amount").decimalValue(),
+                t.path("iso_currency_code").asText(null)));
+        tx.setName(t.path("name").asText());
+        JsonNode cat = t.path("personal_finance_category");
+        tx.setCategory(cat.path("primary").asText(null));
+        tx.setSubcategory(cat.path("detailed").asText(null));
+        tx.setDate(LocalDate.parse(t.path("date").asText()));
+        tx.setCurrencyCode(t.path("iso_currency_code").asText(null));
+        tx.setMerchantName(t.path("merchant_name").asText(null));
+        return tx;
+    }
+
+    private static double rowsPerSecond(int rows, long nanos) {
+        return rows / (nanos / 1_000_000_000.0);
+    }
+}